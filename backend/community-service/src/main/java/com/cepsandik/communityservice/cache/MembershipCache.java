@@ -0,0 +1,76 @@
+package com.cepsandik.communityservice.cache;
+
+import com.cepsandik.communityservice.repository.CommunityMemberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * (communityId, userId) -> üyelik bilgisi için sınırlı boyutlu, TTL'li in-process cache.
+ * <p>
+ * Üyelik yoksa bu da cache'lenir (negatif cache). Üyeliği değiştiren her akış
+ * {@link #evict(Long, String)} çağırmalıdır. Diğer instance'lar değişikliği en geç TTL sonunda görür.
+ * Metrikler actuator altında {@code cache.gets{cache=membership}} olarak yayınlanır.
+ */
+@Component
+@Slf4j
+public class MembershipCache {
+
+    static final String CACHE_NAME = "membership";
+
+    private final CommunityMemberRepository memberRepository;
+    private final Cache<Key, Optional<MembershipSnapshot>> cache;
+
+    public MembershipCache(CommunityMemberRepository memberRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.membership-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.membership-cache.max-size:10000}") long maxSize) {
+        this.memberRepository = memberRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<MembershipSnapshot> find(Long communityId, String userId) {
+        return cache.get(new Key(communityId, userId),
+                key -> memberRepository.findByCommunityIdAndUserId(communityId, userId)
+                        .map(MembershipSnapshot::of));
+    }
+
+    public boolean isMember(Long communityId, String userId) {
+        return find(communityId, userId).isPresent();
+    }
+
+    /**
+     * Kaydı hemen siler; aktif bir transaction varsa commit/rollback sonrasında tekrar siler.
+     * Böylece commit'ten önce eski değerle yeniden doldurulan kayıt da temizlenir.
+     */
+    public void evict(Long communityId, String userId) {
+        Key key = new Key(communityId, userId);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+        log.debug("Üyelik cache kaydı silindi: communityId={}, userId={}", communityId, userId);
+    }
+
+    private record Key(Long communityId, String userId) {
+    }
+}
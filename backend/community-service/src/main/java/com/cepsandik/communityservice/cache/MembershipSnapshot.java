@@ -0,0 +1,20 @@
+package com.cepsandik.communityservice.cache;
+
+import com.cepsandik.communityservice.entity.CommunityMember;
+import com.cepsandik.communityservice.enums.MemberRole;
+import com.cepsandik.communityservice.enums.MemberStatus;
+
+/**
+ * Yetki kontrolleri için üyeliğin değişmez kopyası.
+ * Entity yerine bu tutulur; servislerin entity üzerinde yaptığı değişiklikler cache'i bozmaz.
+ */
+public record MembershipSnapshot(Long memberId, MemberRole role, MemberStatus status) {
+
+    public static MembershipSnapshot of(CommunityMember member) {
+        return new MembershipSnapshot(member.getId(), member.getRole(), member.getStatus());
+    }
+
+    public boolean isAdminOrOwner() {
+        return role == MemberRole.OWNER || role == MemberRole.ADMIN;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "communities")
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate // Sayaç kolonları entity kaydedilirken ezilmesin
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,4 +49,14 @@ public class Community {
     @Column(name = "is_deleted", nullable = false)
     private Boolean isDeleted = false;
 
+    // Denormalize sayaçlar: sadece CommunityRepository.adjustMemberCounters ile güncellenir
+    @Column(name = "approved_member_count", nullable = false)
+    private Long approvedMemberCount = 0L;
+
+    @Column(name = "pending_member_count", nullable = false)
+    private Long pendingMemberCount = 0L;
+
+    @Column(name = "admin_count", nullable = false)
+    private Long adminCount = 0L;
+
 }
@@ -5,6 +5,7 @@ import com.cepsandik.communityservice.dto.response.CommunityResponse;
 import com.cepsandik.communityservice.entity.Community;
 import com.cepsandik.communityservice.entity.CommunityMember;
 import com.cepsandik.communityservice.enums.MemberRole;
+import com.cepsandik.communityservice.repository.projection.CommunityMembershipView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -38,4 +39,8 @@ public class CommunityMapper {
         MemberRole role = member != null ? member.getRole() : null;
         return toResponse(community, memberCount, role);
     }
+
+    public CommunityResponse toResponse(CommunityMembershipView view) {
+        return toResponse(view.getCommunity(), view.getMemberCount(), view.getUserRole());
+    }
 }
@@ -2,9 +2,11 @@ package com.cepsandik.communityservice.repository;
 
 import com.cepsandik.communityservice.entity.CommunityInvitation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,15 +17,54 @@ public interface CommunityInvitationRepository extends JpaRepository<CommunityIn
 
     Optional<CommunityInvitation> findByCode(String code);
 
-    List<CommunityInvitation> findByCommunityIdAndIsActiveTrue(Long communityId);
+    // Davet kodu sırasından 100'lük blok ayırır (bkz. CodeGenerator)
+    @Query(value = "SELECT nextval('invitation_code_seq')", nativeQuery = true)
+    long nextCodeSequenceBlock();
 
-    List<CommunityInvitation> findByExpiresAtBeforeAndIsActiveTrue(LocalDateTime now);
+    // Kullanılabilir davetler: aktif, süresi dolmamış ve kullanım hakkı kalmış.
+    // Süre/kullanım okuma anında kontrol edilir; temizleme görevini beklemeye gerek yoktur.
+    @Query("SELECT i FROM CommunityInvitation i WHERE i.communityId = :communityId AND i.isActive = true " +
+            "AND (i.expiresAt IS NULL OR i.expiresAt > :now) " +
+            "AND (i.maxUses IS NULL OR i.currentUses < i.maxUses)")
+    List<CommunityInvitation> findUsableByCommunityId(@Param("communityId") Long communityId,
+            @Param("now") LocalDateTime now);
 
-    long countByCommunityIdAndIsActiveTrue(Long communityId);
+    @Query("SELECT COUNT(i) FROM CommunityInvitation i WHERE i.communityId = :communityId AND i.isActive = true " +
+            "AND (i.expiresAt IS NULL OR i.expiresAt > :now) " +
+            "AND (i.maxUses IS NULL OR i.currentUses < i.maxUses)")
+    long countUsableByCommunityId(@Param("communityId") Long communityId, @Param("now") LocalDateTime now);
+
+    /**
+     * Davetten tek bir kullanım hakkını atomik olarak talep eder: koşul kontrolü ve artırma
+     * aynı UPDATE içinde yapılır, eşzamanlı katılımlarda maxUses aşılamaz.
+     *
+     * @return 1 ise hak alındı, 0 ise davet artık kullanılamaz
+     */
+    @Modifying
+    @Query("UPDATE CommunityInvitation i SET i.currentUses = i.currentUses + 1 " +
+            "WHERE i.id = :id AND i.isActive = true " +
+            "AND (i.maxUses IS NULL OR i.currentUses < i.maxUses) " +
+            "AND (i.expiresAt IS NULL OR i.expiresAt > :now)")
+    int claimUse(@Param("id") Long id, @Param("now") LocalDateTime now);
 
     @Query("SELECT COALESCE(SUM(i.currentUses), 0) FROM CommunityInvitation i WHERE i.communityId = :communityId")
     long sumCurrentUsesByCommunityId(@Param("communityId") Long communityId);
 
-    @Query("SELECT i FROM CommunityInvitation i WHERE i.isActive = true AND i.maxUses IS NOT NULL AND i.currentUses >= i.maxUses")
-    List<CommunityInvitation> findMaxUsedActiveInvitations();
+    // Toplu temizleme: her çağrı en fazla :batchSize satırı kendi transaction'ında pasif yapar.
+    // Kilitli satırlar atlanır (SKIP LOCKED), bir sonraki çalıştırmada yakalanır.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE community_invitations SET is_active = false WHERE id IN (" +
+            "SELECT id FROM community_invitations WHERE is_active = true AND expires_at < :now " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deactivateExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE community_invitations SET is_active = false WHERE id IN (" +
+            "SELECT id FROM community_invitations WHERE is_active = true AND max_uses IS NOT NULL " +
+            "AND current_uses >= max_uses LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deactivateMaxUsedBatch(@Param("batchSize") int batchSize);
 }
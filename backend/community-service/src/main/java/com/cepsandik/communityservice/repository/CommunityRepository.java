@@ -1,18 +1,22 @@
 package com.cepsandik.communityservice.repository;
 
 import com.cepsandik.communityservice.entity.Community;
+import com.cepsandik.communityservice.enums.MemberStatus;
+import com.cepsandik.communityservice.repository.projection.CommunityMembershipView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CommunityRepository extends JpaRepository<Community, Long> {
+public interface CommunityRepository extends JpaRepository<Community, Long>, CommunityRepositoryCustom {
 
     List<Community> findByOwnerIdAndIsDeletedFalse(String ownerId);
 
@@ -20,13 +24,82 @@ public interface CommunityRepository extends JpaRepository<Community, Long> {
 
     boolean existsByNameAndOwnerIdAndIsDeletedFalse(String name, String ownerId);
 
-    // Arama ve filtreleme
-    @Query("SELECT c FROM Community c WHERE c.isDeleted = false AND " +
-            "(LOWER(c.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')))")
+    // Arama: pg_trgm GIN indeksleriyle (V2 migration) karşılanır, sonuçlar benzerliğe göre sıralanır.
+    // Sıralama sorguda tanımlı olduğundan Pageable sıralamasız verilmelidir.
+    @Query(value = "SELECT c.* FROM communities c WHERE c.is_deleted = false AND " +
+            "(LOWER(c.name) LIKE CONCAT('%', LOWER(:query), '%') OR " +
+            "LOWER(c.description) LIKE CONCAT('%', LOWER(:query), '%')) " +
+            "ORDER BY similarity(LOWER(c.name), LOWER(:query)) DESC, " +
+            "word_similarity(LOWER(:query), LOWER(COALESCE(c.description, ''))) DESC, " +
+            "c.created_at DESC",
+            countQuery = "SELECT COUNT(*) FROM communities c WHERE c.is_deleted = false AND " +
+                    "(LOWER(c.name) LIKE CONCAT('%', LOWER(:query), '%') OR " +
+                    "LOWER(c.description) LIKE CONCAT('%', LOWER(:query), '%'))",
+            nativeQuery = true)
     Page<Community> searchCommunities(@Param("query") String query, Pageable pageable);
 
     // Kullanıcının üye olduğu topluluklar için pagination
     @Query("SELECT c FROM Community c WHERE c.id IN :communityIds AND c.isDeleted = false")
     Page<Community> findByIdInAndIsDeletedFalse(@Param("communityIds") List<Long> communityIds, Pageable pageable);
+
+    // Kullanıcının toplulukları: topluluk, onaylı üye sayısı ve kullanıcının rolü tek sorguda
+    @Query(value = "SELECT c AS community, m.role AS userRole, c.approvedMemberCount AS memberCount " +
+            "FROM Community c JOIN CommunityMember m ON m.communityId = c.id " +
+            "WHERE m.userId = :userId AND m.status = :status AND c.isDeleted = false " +
+            "ORDER BY m.joinedAt DESC",
+            countQuery = "SELECT COUNT(m) FROM Community c JOIN CommunityMember m ON m.communityId = c.id " +
+                    "WHERE m.userId = :userId AND m.status = :status AND c.isDeleted = false")
+    Page<CommunityMembershipView> findMemberCommunities(@Param("userId") String userId,
+            @Param("status") MemberStatus status, Pageable pageable);
+
+    @Query("SELECT c AS community, m.role AS userRole, c.approvedMemberCount AS memberCount " +
+            "FROM Community c JOIN CommunityMember m ON m.communityId = c.id " +
+            "WHERE m.userId = :userId AND m.status = :status AND c.isDeleted = false " +
+            "ORDER BY m.joinedAt DESC")
+    List<CommunityMembershipView> findMemberCommunities(@Param("userId") String userId,
+            @Param("status") MemberStatus status);
+
+    // Üye sayaçları atomik olarak (x = x + delta) güncellenir; okuma-yazma yarışı olmaz.
+    // Persistence context temizlenmez: yüklü Community'nin sayaçları gerekiyorsa refresh(community) çağrılır.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Community c SET " +
+            "c.approvedMemberCount = c.approvedMemberCount + :approvedDelta, " +
+            "c.pendingMemberCount = c.pendingMemberCount + :pendingDelta, " +
+            "c.adminCount = c.adminCount + :adminDelta " +
+            "WHERE c.id = :communityId")
+    int adjustMemberCounters(@Param("communityId") Long communityId,
+            @Param("approvedDelta") long approvedDelta,
+            @Param("pendingDelta") long pendingDelta,
+            @Param("adminDelta") long adminDelta);
+
+    /**
+     * Mutabakat partisindeki topluluk satırlarını id sırasıyla kilitler.
+     * Kilit transaction sonuna kadar tutulur; bu sürede eşzamanlı
+     * {@link #adjustMemberCounters} çağrıları bekler ve artışları kaybolmaz.
+     */
+    @Query(value = "SELECT id FROM communities WHERE id > :afterId ORDER BY id LIMIT :batchSize FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockCounterRowsAfter(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
+
+    /**
+     * Verilen toplulukların sayaçlarını community_members tablosundan yeniden
+     * hesaplar ve sadece sapma olan satırları günceller. Satırlar önce
+     * {@link #lockCounterRowsAfter} ile aynı transaction'da kilitlenmelidir;
+     * böylece bu sorgunun anlık görüntüsü kilit alındıktan sonra oluşur.
+     *
+     * @return düzeltilen topluluk sayısı
+     */
+    @Modifying
+    @Query(value = "UPDATE communities c SET " +
+            "approved_member_count = s.approved, pending_member_count = s.pending, admin_count = s.admins " +
+            "FROM (SELECT cm.id AS community_id, " +
+            "COUNT(m.id) FILTER (WHERE m.status = 'APPROVED') AS approved, " +
+            "COUNT(m.id) FILTER (WHERE m.status = 'PENDING') AS pending, " +
+            "COUNT(m.id) FILTER (WHERE m.role = 'ADMIN') AS admins " +
+            "FROM communities cm LEFT JOIN community_members m ON m.community_id = cm.id " +
+            "WHERE cm.id IN (:communityIds) GROUP BY cm.id) s " +
+            "WHERE c.id = s.community_id AND (c.approved_member_count <> s.approved " +
+            "OR c.pending_member_count <> s.pending OR c.admin_count <> s.admins)",
+            nativeQuery = true)
+    int reconcileMemberCounters(@Param("communityIds") Collection<Long> communityIds);
 }
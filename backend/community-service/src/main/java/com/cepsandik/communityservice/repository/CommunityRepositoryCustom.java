@@ -0,0 +1,13 @@
+package com.cepsandik.communityservice.repository;
+
+import com.cepsandik.communityservice.entity.Community;
+
+public interface CommunityRepositoryCustom {
+
+    /**
+     * Yönetilen topluluk entity'sini veritabanından yeniden okur.
+     * Sayaçlar toplu UPDATE ile değiştiğinde persistence context'in geri
+     * kalanına dokunmadan sadece bu entity'yi tazelemek için kullanılır.
+     */
+    void refresh(Community community);
+}
@@ -0,0 +1,16 @@
+package com.cepsandik.communityservice.repository;
+
+import com.cepsandik.communityservice.entity.Community;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class CommunityRepositoryCustomImpl implements CommunityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void refresh(Community community) {
+        entityManager.refresh(community);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cepsandik.communityservice.repository.projection;
+
+import com.cepsandik.communityservice.entity.Community;
+import com.cepsandik.communityservice.enums.MemberRole;
+
+/**
+ * Kullanıcının üye olduğu topluluk listesi için tek sorguda dönen projeksiyon:
+ * topluluk, onaylı üye sayısı ve kullanıcının o topluluktaki rolü.
+ */
+public interface CommunityMembershipView {
+
+    Community getCommunity();
+
+    long getMemberCount();
+
+    MemberRole getUserRole();
+}
@@ -0,0 +1,69 @@
+package com.cepsandik.communityservice.scheduler;
+
+import com.cepsandik.communityservice.repository.CommunityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class CommunityCounterReconciliationTask {
+
+    private final CommunityRepository communityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CommunityCounterReconciliationTask(CommunityRepository communityRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.counter-reconciliation.batch-size:500}") int batchSize) {
+        this.communityRepository = communityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Her gece 03:30'da topluluk üye sayaçlarını community_members tablosuyla karşılaştırır
+     * ve sapma olanları düzeltir.
+     * <p>
+     * Topluluklar id sırasıyla partiler halinde, her parti kendi kısa transaction'ında
+     * işlenir: önce satırlar kilitlenir, sayımlar kilit alındıktan sonra yapılır.
+     * Böylece bekleyen bir katılımın artışı eski bir sayımla ezilmez.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void reconcileMemberCounters() {
+        log.info("Topluluk üye sayaçları kontrol ediliyor...");
+
+        int repaired = 0;
+        long afterId = 0;
+        BatchResult batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> reconcileBatch(from));
+            repaired += batch.repaired();
+            afterId = batch.lastId();
+        } while (batch.size() == batchSize);
+
+        if (repaired > 0) {
+            log.warn("{} topluluğun üye sayaçlarında sapma bulundu ve düzeltildi.", repaired);
+        } else {
+            log.info("Üye sayaçları tutarlı.");
+        }
+    }
+
+    private BatchResult reconcileBatch(long afterId) {
+        List<Long> ids = communityRepository.lockCounterRowsAfter(afterId, batchSize);
+        if (ids.isEmpty()) {
+            return new BatchResult(afterId, 0, 0);
+        }
+        int repaired = communityRepository.reconcileMemberCounters(ids);
+        return new BatchResult(ids.get(ids.size() - 1), ids.size(), repaired);
+    }
+
+    private record BatchResult(long lastId, int size, int repaired) {
+    }
+}
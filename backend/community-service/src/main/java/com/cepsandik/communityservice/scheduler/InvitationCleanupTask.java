@@ -1,41 +1,44 @@
 package com.cepsandik.communityservice.scheduler;
 
-import com.cepsandik.communityservice.entity.CommunityInvitation;
 import com.cepsandik.communityservice.repository.CommunityInvitationRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.IntUnaryOperator;
 
+/**
+ * Davetlerin süre ve kullanım kontrolleri okuma anında yapıldığından bu görev
+ * sadece is_active bayrağını güncel tutan arka plan sıkıştırmasıdır.
+ * {@code app.invitation-cleanup.enabled=false} ile kapatılabilir.
+ */
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.invitation-cleanup.enabled", havingValue = "true", matchIfMissing = true)
 @Slf4j
 public class InvitationCleanupTask {
 
     private final CommunityInvitationRepository invitationRepository;
+    private final int batchSize;
+
+    public InvitationCleanupTask(CommunityInvitationRepository invitationRepository,
+            @Value("${app.invitation-cleanup.batch-size:1000}") int batchSize) {
+        this.invitationRepository = invitationRepository;
+        this.batchSize = batchSize;
+    }
 
     /**
      * Her gün gece yarısı süresi dolmuş davetleri pasif yapar.
      * Cron: Saniye Dakika Saat GününAyı Ay HaftanınGünü
      */
     @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
     public void cleanupExpiredInvitations() {
         log.info("Süresi dolmuş davetler temizleniyor...");
 
-        List<CommunityInvitation> expiredInvitations = invitationRepository
-                .findByExpiresAtBeforeAndIsActiveTrue(LocalDateTime.now());
-
-        int count = 0;
-        for (CommunityInvitation invitation : expiredInvitations) {
-            invitation.setIsActive(false);
-            invitationRepository.save(invitation);
-            count++;
-        }
+        LocalDateTime now = LocalDateTime.now();
+        int count = deactivateInBatches(limit -> invitationRepository.deactivateExpiredBatch(now, limit));
 
         log.info("Temizleme tamamlandı. {} adet davet pasif yapıldı.", count);
     }
@@ -44,21 +47,28 @@ public class InvitationCleanupTask {
      * Her saatte maksimum kullanım sayısına ulaşmış davetleri pasif yapar.
      */
     @Scheduled(cron = "0 0 * * * ?")
-    @Transactional
     public void cleanupMaxUsedInvitations() {
         log.info("Maksimum kullanıma ulaşmış davetler kontrol ediliyor...");
 
-        List<CommunityInvitation> maxUsedInvitations = invitationRepository.findMaxUsedActiveInvitations();
-
-        int count = 0;
-        for (CommunityInvitation invitation : maxUsedInvitations) {
-            invitation.setIsActive(false);
-            invitationRepository.save(invitation);
-            count++;
-        }
+        int count = deactivateInBatches(invitationRepository::deactivateMaxUsedBatch);
 
         if (count > 0) {
             log.info("{} adet maksimum kullanıma ulaşmış davet pasif yapıldı.", count);
         }
     }
+
+    /**
+     * Her parti kendi kısa transaction'ında çalışır; eksik dolu parti gelince durur.
+     *
+     * @return toplam pasif yapılan davet sayısı
+     */
+    private int deactivateInBatches(IntUnaryOperator batch) {
+        int total = 0;
+        int affected;
+        do {
+            affected = batch.applyAsInt(batchSize);
+            total += affected;
+        } while (affected == batchSize);
+        return total;
+    }
 }
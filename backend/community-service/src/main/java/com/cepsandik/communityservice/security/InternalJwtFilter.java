@@ -54,12 +54,12 @@ public class InternalJwtFilter extends OncePerRequestFilter {
         }
 
         try {
-            // Token doğrulama
-            String issuer = jwtService.extractIssuer(internalToken);
+            // Token doğrulama (tek parse, kısa süreli cache)
+            VerifiedInternalToken verified = jwtService.verify(internalToken);
 
             // API Gateway'den gelmiş olmalı
-            if (!"api-gateway".equals(issuer)) {
-                log.error("Geçersiz issuer: {}", issuer);
+            if (!"api-gateway".equals(verified.issuer())) {
+                log.error("Geçersiz issuer: {}", verified.issuer());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json;charset=UTF-8");
                 response.getWriter().write("{\"success\":false,\"message\":\"Yetkisiz: Geçersiz token kaynağı\"}");
@@ -67,7 +67,7 @@ public class InternalJwtFilter extends OncePerRequestFilter {
             }
 
             // User ID'yi çıkar ve request attribute olarak ayarla
-            String userId = jwtService.extractUserId(internalToken);
+            String userId = verified.userId();
             request.setAttribute("userId", userId);
 
             log.debug("İstek doğrulandı, kullanıcı: {}", userId);
@@ -1,44 +1,78 @@
 package com.cepsandik.communityservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 
+/**
+ * API Gateway'in ürettiği internal token'ları doğrular.
+ * <p>
+ * Parser bir kez oluşturulur (thread-safe). Doğrulanan token'lar süreleri (exp, ~30 sn)
+ * dolana kadar sınırlı bir cache'te tutulur; gateway aynı saniyede aynı kullanıcı için
+ * aynı token'ı ürettiğinden art arda gelen istekler HMAC doğrulamasını tekrar ödemez.
+ * Cache anahtarı token'ın tamamıdır; sadece imzaya göre eşleştirmek farklı payload'ların
+ * kabul edilmesine yol açardı.
+ */
 @Service
 public class InternalJwtService {
 
-    private final SecretKey secretKey;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedInternalToken> verifiedTokens;
 
-    public InternalJwtService(@Value("${jwt.internal.secret}") String secret) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public InternalJwtService(@Value("${jwt.internal.secret}") String secret,
+            @Value("${app.internal-jwt.cache-size:10000}") long cacheSize) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String token, VerifiedInternalToken verified) ->
+                        Duration.between(Instant.now(), verified.expiresAt())))
+                .build();
     }
 
-    public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Token'ı doğrular ve gerekli claim'leri tek seferde çıkarır.
+     *
+     * @throws JwtException token geçersiz, süresi dolmuş veya uid claim'i hatalıysa
+     */
+    public VerifiedInternalToken verify(String token) {
+        VerifiedInternalToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedInternalToken verified = new VerifiedInternalToken(
+                extractUserId(claims), claims.getIssuer(),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+
+        // Süresiz token'lar cache'lenmez
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
 
-    public String extractUserId(String token) {
-        Claims claims = validateToken(token);
+    private static String extractUserId(Claims claims) {
         Object uid = claims.get("uid");
         if (uid instanceof String) {
             return (String) uid;
         } else if (uid instanceof Number) {
             return uid.toString();
         }
-        throw new IllegalArgumentException("Invalid uid claim type: " + uid.getClass());
-    }
-
-    public String extractIssuer(String token) {
-        Claims claims = validateToken(token);
-        return claims.getIssuer();
+        throw new MalformedJwtException("Invalid uid claim type: " + (uid == null ? "null" : uid.getClass()));
     }
 }
@@ -0,0 +1,9 @@
+package com.cepsandik.communityservice.security;
+
+import java.time.Instant;
+
+/**
+ * İmzası doğrulanmış internal token'dan bir kez çıkarılan bilgiler.
+ */
+public record VerifiedInternalToken(String userId, String issuer, Instant expiresAt) {
+}
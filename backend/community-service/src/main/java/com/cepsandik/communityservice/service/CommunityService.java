@@ -1,5 +1,7 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
+import com.cepsandik.communityservice.cache.MembershipSnapshot;
 import com.cepsandik.communityservice.dto.request.CreateCommunityRequest;
 import com.cepsandik.communityservice.dto.request.UpdateCommunityRequest;
 import com.cepsandik.communityservice.dto.response.CommunityResponse;
@@ -12,18 +14,16 @@ import com.cepsandik.communityservice.exception.ApiException;
 import com.cepsandik.communityservice.mapper.CommunityMapper;
 import com.cepsandik.communityservice.repository.CommunityMemberRepository;
 import com.cepsandik.communityservice.repository.CommunityRepository;
+import com.cepsandik.communityservice.repository.projection.CommunityMembershipView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +33,7 @@ public class CommunityService {
 
     private final CommunityRepository communityRepository;
     private final CommunityMemberRepository memberRepository;
+    private final MembershipCache membershipCache;
     private final CommunityMapper communityMapper;
 
     @Transactional
@@ -44,6 +45,7 @@ public class CommunityService {
 
         // Topluluk oluştur
         Community community = communityMapper.toEntity(request, userId);
+        community.setApprovedMemberCount(1L); // Sahip onaylı üye olarak başlar
         Community saved = communityRepository.save(community);
 
         // Sahibi üye olarak ekle
@@ -53,6 +55,7 @@ public class CommunityService {
         ownerMember.setRole(MemberRole.OWNER);
         ownerMember.setStatus(MemberStatus.APPROVED);
         memberRepository.save(ownerMember);
+        membershipCache.evict(saved.getId(), userId);
 
         log.info("Topluluk oluşturuldu: id={}, name={}, owner={}", saved.getId(), saved.getName(), userId);
 
@@ -60,34 +63,18 @@ public class CommunityService {
     }
 
     public List<CommunityResponse> getMyCommunities(String userId) {
-        List<CommunityMember> memberships = memberRepository.findByUserIdAndStatus(userId, MemberStatus.APPROVED);
-
-        return memberships.stream()
-                .map(membership -> {
-                    Community community = communityRepository.findByIdAndIsDeletedFalse(membership.getCommunityId())
-                            .orElse(null);
-                    if (community == null)
-                        return null;
-                    return buildCommunityResponse(community, userId);
-                })
-                .filter(Objects::nonNull)
+        return communityRepository.findMemberCommunities(userId, MemberStatus.APPROVED).stream()
+                .map(communityMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     public PageResponse<CommunityResponse> getMyCommunities(String userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("joinedAt").descending());
-        Page<CommunityMember> memberships = memberRepository.findByUserIdAndStatus(userId, MemberStatus.APPROVED,
-                pageable);
+        // Sıralama sorguda (m.joinedAt DESC) tanımlı
+        Page<CommunityMembershipView> memberships = communityRepository.findMemberCommunities(
+                userId, MemberStatus.APPROVED, PageRequest.of(page, size));
 
         List<CommunityResponse> communities = memberships.stream()
-                .map(membership -> {
-                    Community community = communityRepository.findByIdAndIsDeletedFalse(membership.getCommunityId())
-                            .orElse(null);
-                    if (community == null)
-                        return null;
-                    return buildCommunityResponse(community, userId);
-                })
-                .filter(Objects::nonNull)
+                .map(communityMapper::toResponse)
                 .collect(Collectors.toList());
 
         return PageResponse.of(communities, page, size, memberships.getTotalElements());
@@ -98,7 +85,7 @@ public class CommunityService {
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Topluluk bulunamadı"));
 
         // Üyelik kontrolü
-        if (!memberRepository.existsByCommunityIdAndUserId(communityId, userId)) {
+        if (!membershipCache.isMember(communityId, userId)) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz");
         }
 
@@ -111,10 +98,10 @@ public class CommunityService {
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Topluluk bulunamadı"));
 
         // Yetki kontrolü
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
-        if (member.getRole() != MemberRole.OWNER && member.getRole() != MemberRole.ADMIN) {
+        if (!member.isAdminOrOwner()) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Topluluk güncelleme yetkiniz yok");
         }
 
@@ -153,24 +140,21 @@ public class CommunityService {
     }
 
     public PageResponse<CommunityResponse> searchCommunities(String query, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Community> communities = communityRepository.searchCommunities(query, pageable);
+        // Sıralama (benzerlik skoru) sorguda tanımlı
+        Page<Community> communities = communityRepository.searchCommunities(query, PageRequest.of(page, size));
 
         List<CommunityResponse> responses = communities.stream()
-                .map(c -> communityMapper.toResponse(c,
-                        memberRepository.countByCommunityIdAndStatus(c.getId(), MemberStatus.APPROVED),
-                        (MemberRole) null))
+                .map(c -> communityMapper.toResponse(c, c.getApprovedMemberCount(), (MemberRole) null))
                 .collect(Collectors.toList());
 
         return PageResponse.of(responses, page, size, communities.getTotalElements());
     }
 
     private CommunityResponse buildCommunityResponse(Community community, String userId) {
-        long memberCount = memberRepository.countByCommunityIdAndStatus(community.getId(), MemberStatus.APPROVED);
-
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(community.getId(), userId)
+        MemberRole role = membershipCache.find(community.getId(), userId)
+                .map(MembershipSnapshot::role)
                 .orElse(null);
 
-        return communityMapper.toResponse(community, memberCount, member);
+        return communityMapper.toResponse(community, community.getApprovedMemberCount(), role);
     }
 }
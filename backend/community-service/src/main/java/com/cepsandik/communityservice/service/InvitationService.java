@@ -1,5 +1,7 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
+import com.cepsandik.communityservice.cache.MembershipSnapshot;
 import com.cepsandik.communityservice.dto.request.CreateInvitationRequest;
 import com.cepsandik.communityservice.dto.request.JoinCommunityRequest;
 import com.cepsandik.communityservice.dto.response.CommunityResponse;
@@ -33,6 +35,7 @@ public class InvitationService {
     private final CommunityInvitationRepository invitationRepository;
     private final CommunityRepository communityRepository;
     private final CommunityMemberRepository memberRepository;
+    private final MembershipCache membershipCache;
     private final CodeGenerator codeGenerator;
     private final CommunityService communityService;
     private final InvitationMapper invitationMapper;
@@ -43,18 +46,18 @@ public class InvitationService {
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Topluluk bulunamadı"));
 
         // Yetki kontrolü
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
-        if (member.getRole() != MemberRole.OWNER && member.getRole() != MemberRole.ADMIN) {
+        if (!member.isAdminOrOwner()) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Davet oluşturma yetkiniz yok");
         }
 
-        // Benzersiz kod oluştur
+        // Benzersiz kod oluştur (sıra tabanlı kodlar zaten benzersiz, kontrol gerekmez)
         String code;
         do {
             code = codeGenerator.generateInvitationCode();
-        } while (invitationRepository.findByCode(code).isPresent());
+        } while (!codeGenerator.isCollisionFree() && invitationRepository.findByCode(code).isPresent());
 
         // Davet oluştur
         CommunityInvitation invitation = new CommunityInvitation();
@@ -117,10 +120,24 @@ public class InvitationService {
         }
 
         memberRepository.save(newMember);
+        membershipCache.evict(communityId, userId);
+
+        // Kullanım hakkını atomik olarak al; yukarıdaki kontroller eşzamanlı katılımlarda eskimiş olabilir.
+        // Hak alınamazsa transaction geri alınır ve üye kaydı da silinir.
+        // Davet satırının kilidi commit'e kadar (sayaç güncellemesi ve yanıtın okunması dahil) tutulur;
+        // aynı koda gelen katılımlar bu süre boyunca sıraya girer.
+        if (invitationRepository.claimUse(invitation.getId(), LocalDateTime.now()) == 0) {
+            throw new ApiException(HttpStatus.CONFLICT, "Bu davet artık kullanılamıyor");
+        }
 
-        // Davet kullanım sayısını artır
-        invitation.setCurrentUses(invitation.getCurrentUses() + 1);
-        invitationRepository.save(invitation);
+        // Topluluk sayaçlarını güncelle
+        if (newMember.getStatus() == MemberStatus.APPROVED) {
+            communityRepository.adjustMemberCounters(communityId, 1, 0, 0);
+        } else {
+            communityRepository.adjustMemberCounters(communityId, 0, 1, 0);
+        }
+        // Yanıt güncel sayaçları göstersin; persistence context'in geri kalanı korunur
+        communityRepository.refresh(community);
 
         log.info("Kullanıcı topluluğa katıldı: communityId={}, userId={}, status={}",
                 communityId, userId, newMember.getStatus());
@@ -130,24 +147,24 @@ public class InvitationService {
 
     public List<InvitationResponse> getCommunityInvitations(Long communityId, String userId) {
         // Yetki kontrolü
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
-        if (member.getRole() != MemberRole.OWNER && member.getRole() != MemberRole.ADMIN) {
+        if (!member.isAdminOrOwner()) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Davetleri görme yetkiniz yok");
         }
 
         return invitationMapper.toResponseList(
-                invitationRepository.findByCommunityIdAndIsActiveTrue(communityId));
+                invitationRepository.findUsableByCommunityId(communityId, LocalDateTime.now()));
     }
 
     @Transactional
     public void deactivateInvitation(Long communityId, Long invitationId, String userId) {
         // Yetki kontrolü
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
-        if (member.getRole() != MemberRole.OWNER && member.getRole() != MemberRole.ADMIN) {
+        if (!member.isAdminOrOwner()) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Davet iptal etme yetkiniz yok");
         }
 
@@ -1,5 +1,7 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
+import com.cepsandik.communityservice.cache.MembershipSnapshot;
 import com.cepsandik.communityservice.dto.request.UpdateMemberRoleRequest;
 import com.cepsandik.communityservice.dto.response.MemberResponse;
 import com.cepsandik.communityservice.dto.response.PageResponse;
@@ -9,6 +11,7 @@ import com.cepsandik.communityservice.enums.MemberStatus;
 import com.cepsandik.communityservice.exception.ApiException;
 import com.cepsandik.communityservice.mapper.MemberMapper;
 import com.cepsandik.communityservice.repository.CommunityMemberRepository;
+import com.cepsandik.communityservice.repository.CommunityRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,6 +30,8 @@ import java.util.List;
 public class MemberService {
 
     private final CommunityMemberRepository memberRepository;
+    private final CommunityRepository communityRepository;
+    private final MembershipCache membershipCache;
     private final MemberMapper memberMapper;
 
     public PageResponse<MemberResponse> getMembers(Long communityId, String userId, int page, int size) {
@@ -73,8 +78,16 @@ public class MemberService {
             throw new ApiException(HttpStatus.FORBIDDEN, "OWNER rolü atanamaz");
         }
 
+        MemberRole oldRole = targetMember.getRole();
         targetMember.setRole(request.getRole());
         CommunityMember updated = memberRepository.save(targetMember);
+        membershipCache.evict(communityId, targetMember.getUserId());
+
+        if (oldRole != MemberRole.ADMIN && request.getRole() == MemberRole.ADMIN) {
+            communityRepository.adjustMemberCounters(communityId, 0, 0, 1);
+        } else if (oldRole == MemberRole.ADMIN && request.getRole() != MemberRole.ADMIN) {
+            communityRepository.adjustMemberCounters(communityId, 0, 0, -1);
+        }
 
         log.info("Üye rolü güncellendi: communityId={}, memberId={}, newRole={}",
                 communityId, memberId, request.getRole());
@@ -99,6 +112,8 @@ public class MemberService {
 
         member.setStatus(MemberStatus.APPROVED);
         CommunityMember updated = memberRepository.save(member);
+        membershipCache.evict(communityId, member.getUserId());
+        communityRepository.adjustMemberCounters(communityId, 1, -1, 0);
 
         log.info("Üye onaylandı: communityId={}, memberId={}", communityId, memberId);
 
@@ -122,13 +137,15 @@ public class MemberService {
 
         member.setStatus(MemberStatus.REJECTED);
         memberRepository.save(member);
+        membershipCache.evict(communityId, member.getUserId());
+        communityRepository.adjustMemberCounters(communityId, 0, -1, 0);
 
         log.info("Üye reddedildi: communityId={}, memberId={}", communityId, memberId);
     }
 
     @Transactional
     public void removeMember(Long communityId, Long memberId, String userId) {
-        CommunityMember requester = validateAdminOrOwner(communityId, userId);
+        MembershipSnapshot requester = validateAdminOrOwner(communityId, userId);
 
         CommunityMember targetMember = memberRepository.findById(memberId)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Üye bulunamadı"));
@@ -143,11 +160,13 @@ public class MemberService {
         }
 
         // Admin sadece normal üyeleri çıkarabilir
-        if (requester.getRole() == MemberRole.ADMIN && targetMember.getRole() == MemberRole.ADMIN) {
+        if (requester.role() == MemberRole.ADMIN && targetMember.getRole() == MemberRole.ADMIN) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Diğer yöneticileri çıkarma yetkiniz yok");
         }
 
         memberRepository.delete(targetMember);
+        membershipCache.evict(communityId, targetMember.getUserId());
+        releaseMemberCounters(targetMember);
 
         log.info("Üye çıkarıldı: communityId={}, memberId={}", communityId, memberId);
     }
@@ -164,6 +183,8 @@ public class MemberService {
         }
 
         memberRepository.delete(member);
+        membershipCache.evict(communityId, userId);
+        releaseMemberCounters(member);
 
         log.info("Kullanıcı topluluktan ayrıldı: communityId={}, userId={}", communityId, userId);
     }
@@ -171,27 +192,36 @@ public class MemberService {
     // === Helper Methods ===
 
     private void validateMembership(Long communityId, String userId) {
-        if (!memberRepository.existsByCommunityIdAndUserId(communityId, userId)) {
+        if (!membershipCache.isMember(communityId, userId)) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz");
         }
     }
 
-    private CommunityMember validateAdminOrOwner(Long communityId, String userId) {
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+    private MembershipSnapshot validateAdminOrOwner(Long communityId, String userId) {
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
-        if (member.getRole() != MemberRole.OWNER && member.getRole() != MemberRole.ADMIN) {
+        if (!member.isAdminOrOwner()) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Bu işlem için yetkiniz yok");
         }
 
         return member;
     }
 
-    private CommunityMember validateOwner(Long communityId, String userId) {
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+    private void releaseMemberCounters(CommunityMember member) {
+        long approvedDelta = member.getStatus() == MemberStatus.APPROVED ? -1 : 0;
+        long pendingDelta = member.getStatus() == MemberStatus.PENDING ? -1 : 0;
+        long adminDelta = member.getRole() == MemberRole.ADMIN ? -1 : 0;
+        if (approvedDelta != 0 || pendingDelta != 0 || adminDelta != 0) {
+            communityRepository.adjustMemberCounters(member.getCommunityId(), approvedDelta, pendingDelta, adminDelta);
+        }
+    }
+
+    private MembershipSnapshot validateOwner(Long communityId, String userId) {
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
-        if (member.getRole() != MemberRole.OWNER) {
+        if (member.role() != MemberRole.OWNER) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Bu işlem sadece topluluk sahibi tarafından yapılabilir");
         }
 
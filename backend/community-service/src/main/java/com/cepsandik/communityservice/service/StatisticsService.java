@@ -1,10 +1,9 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
+import com.cepsandik.communityservice.cache.MembershipSnapshot;
 import com.cepsandik.communityservice.dto.response.StatisticsResponse;
 import com.cepsandik.communityservice.entity.Community;
-import com.cepsandik.communityservice.entity.CommunityMember;
-import com.cepsandik.communityservice.enums.MemberRole;
-import com.cepsandik.communityservice.enums.MemberStatus;
 import com.cepsandik.communityservice.exception.ApiException;
 import com.cepsandik.communityservice.repository.CommunityInvitationRepository;
 import com.cepsandik.communityservice.repository.CommunityMemberRepository;
@@ -23,6 +22,7 @@ public class StatisticsService {
 
     private final CommunityRepository communityRepository;
     private final CommunityMemberRepository memberRepository;
+    private final MembershipCache membershipCache;
     private final CommunityInvitationRepository invitationRepository;
 
     public StatisticsResponse getCommunityStatistics(Long communityId, String userId) {
@@ -30,18 +30,15 @@ public class StatisticsService {
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Topluluk bulunamadı"));
 
         // Üyelik kontrolü
-        CommunityMember member = memberRepository.findByCommunityIdAndUserId(communityId, userId)
+        MembershipSnapshot member = membershipCache.find(communityId, userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.FORBIDDEN, "Bu topluluğun üyesi değilsiniz"));
 
         // Sadece admin ve owner istatistikleri görebilir
-        if (member.getRole() != MemberRole.OWNER && member.getRole() != MemberRole.ADMIN) {
+        if (!member.isAdminOrOwner()) {
             throw new ApiException(HttpStatus.FORBIDDEN, "İstatistikleri görme yetkiniz yok");
         }
 
-        long totalMembers = memberRepository.countByCommunityIdAndStatus(communityId, MemberStatus.APPROVED);
-        long pendingMembers = memberRepository.countByCommunityIdAndStatus(communityId, MemberStatus.PENDING);
-        long adminCount = memberRepository.countByCommunityIdAndRole(communityId, MemberRole.ADMIN);
-        long activeInvitations = invitationRepository.countByCommunityIdAndIsActiveTrue(communityId);
+        long activeInvitations = invitationRepository.countUsableByCommunityId(communityId, LocalDateTime.now());
         long totalInvitationsUsed = invitationRepository.sumCurrentUsesByCommunityId(communityId);
 
         // Son aktivite - en son katılan üyenin tarihi
@@ -51,9 +48,9 @@ public class StatisticsService {
         return StatisticsResponse.builder()
                 .communityId(community.getId())
                 .communityName(community.getName())
-                .totalMembers(totalMembers)
-                .pendingMembers(pendingMembers)
-                .adminCount(adminCount)
+                .totalMembers(community.getApprovedMemberCount())
+                .pendingMembers(community.getPendingMemberCount())
+                .adminCount(community.getAdminCount())
                 .activeInvitations(activeInvitations)
                 .totalInvitationsUsed(totalInvitationsUsed)
                 .createdAt(community.getCreatedAt())
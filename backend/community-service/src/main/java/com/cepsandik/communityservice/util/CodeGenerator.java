@@ -1,20 +1,140 @@
 package com.cepsandik.communityservice.util;
 
+import com.cepsandik.communityservice.repository.CommunityInvitationRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
+/**
+ * Davet kodu üretici.
+ * <p>
+ * SEQUENCE modunda kodlar veritabanı sırasından alınan sayıların gizli anahtarlı Feistel
+ * permütasyonundan türetilir: aynı sayı iki kez gelmediği için kod da tekrar etmez ve
+ * kodlar ardışık görünmez. Sıra 100'lük bloklar halinde alınır, yani 100 kodda bir sorgu.
+ * RANDOM modunda eski davranış korunur; benzersizlik çağıran tarafından kontrol edilmelidir.
+ */
 @Component
 public class CodeGenerator {
+
+    public enum Mode {
+        RANDOM,
+        SEQUENCE
+    }
+
     private static final String CHARACTERS = "ABCDEFGHJKLMNPQRSTUVWXYZ0123456789"; // No confusing chars
     private static final int CODE_LENGTH = 8;
+    private static final long CODE_SPACE = 1_785_793_904_896L; // 34^8
+
+    // 42 bitlik (2 x 21) Feistel ağı; 2^42 > 34^8, aralık dışı değerler için cycle-walking yapılır
+    private static final int HALF_BITS = 21;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    static final long SEQUENCE_BLOCK_SIZE = 100; // V5 migration'daki INCREMENT BY ile aynı
+
     private final SecureRandom random = new SecureRandom();
+    private final CommunityInvitationRepository invitationRepository;
+    private final Mode mode;
+    private final long[] roundKeys;
+
+    private long nextValue;
+    private long blockEnd;
+
+    public CodeGenerator(CommunityInvitationRepository invitationRepository,
+            @Value("${app.invitation-code.mode:SEQUENCE}") Mode mode,
+            @Value("${app.invitation-code.secret}") String secret) {
+        // Boş anahtarla permütasyon herkesin bildiği algoritmaya indirgenir, kodlar tahmin edilebilir olur
+        if (mode == Mode.SEQUENCE && (secret == null || secret.isBlank())) {
+            throw new IllegalStateException("SEQUENCE modunda app.invitation-code.secret boş olamaz");
+        }
+        this.invitationRepository = invitationRepository;
+        this.mode = mode;
+        this.roundKeys = deriveRoundKeys(secret == null ? "" : secret);
+    }
+
+    /**
+     * Üretilen kodlar yapı gereği benzersiz mi? Öyleyse veritabanında varlık kontrolü gerekmez;
+     * unique constraint sadece güvenlik ağıdır.
+     */
+    public boolean isCollisionFree() {
+        return mode == Mode.SEQUENCE;
+    }
 
     public String generateInvitationCode() {
+        if (mode == Mode.SEQUENCE) {
+            return encode(permute(nextSequenceValue()));
+        }
         StringBuilder code = new StringBuilder(CODE_LENGTH);
         for (int i = 0; i < CODE_LENGTH; i++) {
             code.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
         }
         return code.toString();
     }
+
+    private synchronized long nextSequenceValue() {
+        if (nextValue == blockEnd) {
+            nextValue = invitationRepository.nextCodeSequenceBlock();
+            blockEnd = nextValue + SEQUENCE_BLOCK_SIZE;
+        }
+        return nextValue++;
+    }
+
+    /**
+     * [0, 34^8) aralığında bijeksiyon.
+     */
+    long permute(long value) {
+        if (value < 0 || value >= CODE_SPACE) {
+            throw new IllegalStateException("Davet kodu alanı tükendi: " + value);
+        }
+        long result = value;
+        do {
+            result = feistel(result);
+        } while (result >= CODE_SPACE);
+        return result;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ (mix(right ^ roundKeys[round]) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = CHARACTERS.charAt((int) (value % CHARACTERS.length()));
+            value /= CHARACTERS.length();
+        }
+        return new String(code);
+    }
+
+    private static long[] deriveRoundKeys(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long[] keys = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                keys[i] = buffer.getLong();
+            }
+            return keys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
 }
@@ -0,0 +1,14 @@
+-- Community Service - Topluluk arama indeksleri
+-- V2__community_search_trgm.sql
+
+-- LIKE '%...%' aramalarını GIN trigram indeksiyle karşılamak için
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Sadece silinmemiş topluluklar aranır; indeks de buna göre kısmi
+CREATE INDEX IF NOT EXISTS idx_communities_name_trgm
+    ON communities USING gin (LOWER(name) gin_trgm_ops)
+    WHERE is_deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_communities_description_trgm
+    ON communities USING gin (LOWER(description) gin_trgm_ops)
+    WHERE is_deleted = FALSE;
@@ -0,0 +1,19 @@
+-- Community Service - Denormalize üye sayaçları
+-- V3__community_member_counters.sql
+
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS approved_member_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS pending_member_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS admin_count BIGINT NOT NULL DEFAULT 0;
+
+-- Mevcut veriden sayaçları doldur
+UPDATE communities c
+SET approved_member_count = s.approved,
+    pending_member_count = s.pending,
+    admin_count = s.admins
+FROM (SELECT m.community_id,
+             COUNT(*) FILTER (WHERE m.status = 'APPROVED') AS approved,
+             COUNT(*) FILTER (WHERE m.status = 'PENDING') AS pending,
+             COUNT(*) FILTER (WHERE m.role = 'ADMIN') AS admins
+      FROM community_members m
+      GROUP BY m.community_id) s
+WHERE c.id = s.community_id;
@@ -0,0 +1,12 @@
+-- Community Service - Davet temizleme indeksleri
+-- V4__invitation_cleanup_indexes.sql
+
+-- Süresi dolmuş aktif davetler (sadece aktif satırlar indekslenir)
+CREATE INDEX IF NOT EXISTS idx_community_invitations_active_expires_at
+    ON community_invitations (expires_at)
+    WHERE is_active = TRUE;
+
+-- Maksimum kullanıma ulaşmış aktif davetler
+CREATE INDEX IF NOT EXISTS idx_community_invitations_active_max_used
+    ON community_invitations (id)
+    WHERE is_active = TRUE AND max_uses IS NOT NULL AND current_uses >= max_uses;
@@ -0,0 +1,6 @@
+-- Community Service - Davet kodu sırası
+-- V5__invitation_code_sequence.sql
+
+-- Her nextval 100'lük bir blok ayırır (CodeGenerator.SEQUENCE_BLOCK_SIZE ile aynı olmalı).
+-- Kodlar bu değerlerin Feistel permütasyonundan türetilir; tekrar etmez.
+CREATE SEQUENCE IF NOT EXISTS invitation_code_seq START WITH 0 MINVALUE 0 INCREMENT BY 100;
@@ -0,0 +1,91 @@
+package com.cepsandik.communityservice.cache;
+
+import com.cepsandik.communityservice.entity.CommunityMember;
+import com.cepsandik.communityservice.enums.MemberRole;
+import com.cepsandik.communityservice.enums.MemberStatus;
+import com.cepsandik.communityservice.repository.CommunityMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipCacheTest {
+
+    @Mock
+    private CommunityMemberRepository memberRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MembershipCache membershipCache;
+    private CommunityMember member;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        membershipCache = new MembershipCache(memberRepository, meterRegistry, 60, 100);
+
+        member = new CommunityMember();
+        member.setId(3L);
+        member.setCommunityId(1L);
+        member.setUserId("user-1");
+        member.setRole(MemberRole.MEMBER);
+        member.setStatus(MemberStatus.APPROVED);
+    }
+
+    @Test
+    @DisplayName("Aynı üyelik ikinci kez veritabanına gitmeden okunmalı")
+    void find_SecondLookupIsServedFromCache() {
+        // Given
+        when(memberRepository.findByCommunityIdAndUserId(1L, "user-1")).thenReturn(Optional.of(member));
+
+        // When
+        membershipCache.find(1L, "user-1");
+        Optional<MembershipSnapshot> snapshot = membershipCache.find(1L, "user-1");
+
+        // Then
+        assertEquals(MemberRole.MEMBER, snapshot.orElseThrow().role());
+        verify(memberRepository, times(1)).findByCommunityIdAndUserId(1L, "user-1");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "membership").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Üye olmayan kullanıcı da cache'lenmeli")
+    void find_CachesMissingMembership() {
+        // Given
+        when(memberRepository.findByCommunityIdAndUserId(1L, "stranger")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertFalse(membershipCache.isMember(1L, "stranger"));
+        assertFalse(membershipCache.isMember(1L, "stranger"));
+        verify(memberRepository, times(1)).findByCommunityIdAndUserId(1L, "stranger");
+    }
+
+    @Test
+    @DisplayName("Evict sonrası güncel üyelik yeniden yüklenmeli")
+    void evict_ReloadsFreshMembership() {
+        // Given
+        when(memberRepository.findByCommunityIdAndUserId(1L, "user-1")).thenReturn(Optional.of(member));
+        membershipCache.find(1L, "user-1");
+
+        CommunityMember promoted = new CommunityMember();
+        promoted.setId(3L);
+        promoted.setRole(MemberRole.ADMIN);
+        promoted.setStatus(MemberStatus.APPROVED);
+        when(memberRepository.findByCommunityIdAndUserId(1L, "user-1")).thenReturn(Optional.of(promoted));
+
+        // When
+        membershipCache.evict(1L, "user-1");
+
+        // Then
+        assertEquals(MemberRole.ADMIN, membershipCache.find(1L, "user-1").orElseThrow().role());
+    }
+}
@@ -0,0 +1,78 @@
+package com.cepsandik.communityservice.repository;
+
+import com.cepsandik.communityservice.entity.CommunityInvitation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommunityInvitationRepository kullanılabilir davet sorguları")
+class CommunityInvitationRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private CommunityInvitationRepository invitationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private long communityId;
+
+    @BeforeEach
+    void setUp() {
+        communityId = jdbcTemplate.queryForObject("INSERT INTO communities (name, visibility, owner_id) " +
+                "VALUES ('Test', 'PUBLIC', 'owner') RETURNING id", Long.class);
+        long otherCommunityId = jdbcTemplate.queryForObject("INSERT INTO communities (name, visibility, owner_id) " +
+                "VALUES ('Diğer', 'PUBLIC', 'owner') RETURNING id", Long.class);
+
+        insert(communityId, "USABLE01", 5, 2, now.plusDays(1), true);
+        insert(communityId, "UNLIMIT1", null, 40, null, true);
+        insert(communityId, "EXPIRED1", 5, 0, now.minusMinutes(1), true);
+        insert(communityId, "EXHAUST1", 3, 3, now.plusDays(1), true);
+        insert(communityId, "INACTIV1", null, 0, null, false);
+        insert(otherCommunityId, "OTHER001", null, 0, null, true);
+    }
+
+    @Test
+    @DisplayName("Süresi dolmuş, kullanım hakkı bitmiş ve pasif davetler listelenmemeli")
+    void findUsableByCommunityId_FiltersExpiredAndExhausted() {
+        // When
+        List<CommunityInvitation> usable = invitationRepository.findUsableByCommunityId(communityId, now);
+
+        // Then
+        assertEquals(List.of("UNLIMIT1", "USABLE01"),
+                usable.stream().map(CommunityInvitation::getCode).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Sayım listeleme ile aynı filtreleri uygulamalı")
+    void countUsableByCommunityId_MatchesFind() {
+        // When/Then
+        assertEquals(2, invitationRepository.countUsableByCommunityId(communityId, now));
+    }
+
+    @Test
+    @DisplayName("Bitiş anı okuma zamanına eşitse davet süresi dolmuş sayılmalı")
+    void findUsableByCommunityId_ExpiresAtBoundary() {
+        // When
+        List<CommunityInvitation> usable = invitationRepository.findUsableByCommunityId(communityId,
+                now.plusDays(1));
+
+        // Then
+        assertEquals(List.of("UNLIMIT1"), usable.stream().map(CommunityInvitation::getCode).toList());
+        assertEquals(1, invitationRepository.countUsableByCommunityId(communityId, now.plusDays(1)));
+    }
+
+    private void insert(long communityId, String code, Integer maxUses, int currentUses,
+            LocalDateTime expiresAt, boolean active) {
+        jdbcTemplate.update("INSERT INTO community_invitations (community_id, code, max_uses, current_uses, " +
+                        "expires_at, created_by, is_active) VALUES (?, ?, ?, ?, ?, 'owner', ?)",
+                communityId, code, maxUses, currentUses, expiresAt, active);
+    }
+}
@@ -0,0 +1,87 @@
+package com.cepsandik.communityservice.repository;
+
+import com.cepsandik.communityservice.entity.Community;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommunityRepository üye sayaçları")
+class CommunityRepositoryCounterTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Sayaç güncellemesi persistence context'i temizlememeli, refresh sadece topluluğu tazelemeli")
+    void adjustMemberCounters_KeepsPersistenceContext() {
+        // Given
+        long id = insertCommunity(0, 0, 0);
+        Community community = communityRepository.findById(id).orElseThrow();
+
+        // When
+        communityRepository.adjustMemberCounters(id, 1, 2, 0);
+
+        // Then
+        assertTrue(entityManager.getEntityManager().contains(community));
+        communityRepository.refresh(community);
+        assertEquals(1L, community.getApprovedMemberCount());
+        assertEquals(2L, community.getPendingMemberCount());
+    }
+
+    @Test
+    @DisplayName("Mutabakat sadece kilitlenen partideki sapmış sayaçları düzeltmeli")
+    void reconcileMemberCounters_RepairsLockedBatch() {
+        // Given
+        long drifted = insertCommunity(5, 0, 0);
+        long consistent = insertCommunity(1, 1, 0);
+        long outside = insertCommunity(9, 9, 9);
+        insertMember(drifted, "u1", "APPROVED", "ADMIN");
+        insertMember(drifted, "u2", "PENDING", "MEMBER");
+        insertMember(consistent, "u1", "APPROVED", "OWNER");
+        insertMember(consistent, "u3", "PENDING", "MEMBER");
+
+        // When
+        List<Long> locked = communityRepository.lockCounterRowsAfter(drifted - 1, 2);
+        int repaired = communityRepository.reconcileMemberCounters(locked);
+
+        // Then
+        assertEquals(List.of(drifted, consistent), locked);
+        assertEquals(1, repaired);
+        assertEquals(List.of(1L, 1L, 1L), counters(drifted));
+        assertEquals(List.of(1L, 1L, 0L), counters(consistent));
+        assertEquals(List.of(9L, 9L, 9L), counters(outside));
+    }
+
+    private long insertCommunity(long approved, long pending, long admins) {
+        return jdbcTemplate.queryForObject("INSERT INTO communities (name, visibility, owner_id, " +
+                        "approved_member_count, pending_member_count, admin_count) " +
+                        "VALUES ('Test', 'PUBLIC', 'owner', ?, ?, ?) RETURNING id",
+                Long.class, approved, pending, admins);
+    }
+
+    private void insertMember(long communityId, String userId, String status, String role) {
+        jdbcTemplate.update("INSERT INTO community_members (community_id, user_id, status, role) VALUES (?, ?, ?, ?)",
+                communityId, userId, status, role);
+    }
+
+    private List<Long> counters(long communityId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT approved_member_count, pending_member_count, " +
+                "admin_count FROM communities WHERE id = ?", communityId);
+        return List.of(((Number) row.get("approved_member_count")).longValue(),
+                ((Number) row.get("pending_member_count")).longValue(),
+                ((Number) row.get("admin_count")).longValue());
+    }
+}
@@ -0,0 +1,76 @@
+package com.cepsandik.communityservice.repository;
+
+import com.cepsandik.communityservice.entity.Community;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommunityRepository arama sorgusu")
+class CommunityRepositorySearchTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        insert("Advanced Java Programming Community", "Her seviyeye uygun", false, "2024-01-03");
+        insert("Java Developers", null, false, "2024-01-01");
+        insert("Spring Boot", "Java ile backend geliştirme", false, "2024-01-04");
+        insert("Java", "Silinmiş topluluk", true, "2024-01-05");
+        insert("Python", "Veri bilimi", false, "2024-01-06");
+    }
+
+    @Test
+    @DisplayName("Sonuçlar isim benzerliğine, sonra açıklama eşleşmesine göre sıralanmalı")
+    void searchCommunities_OrdersByRelevance() {
+        // When
+        Page<Community> result = communityRepository.searchCommunities("JAVA", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of("Java Developers", "Advanced Java Programming Community", "Spring Boot"),
+                result.map(Community::getName).getContent());
+    }
+
+    @Test
+    @DisplayName("Silinmiş topluluklar sonuçlarda ve toplamda yer almamalı")
+    void searchCommunities_ExcludesDeleted() {
+        // When
+        Page<Community> result = communityRepository.searchCommunities("java", PageRequest.of(0, 10));
+
+        // Then
+        assertTrue(result.getContent().stream().noneMatch(Community::getIsDeleted));
+        assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Toplam sayı count sorgusundan gelmeli, sayfa boyutu sonucu kısıtlamalı")
+    void searchCommunities_CountsAllMatches() {
+        // When
+        Page<Community> first = communityRepository.searchCommunities("java", PageRequest.of(0, 2));
+        Page<Community> second = communityRepository.searchCommunities("java", PageRequest.of(1, 2));
+
+        // Then
+        assertEquals(2, first.getContent().size());
+        assertEquals(3, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+        assertEquals(List.of("Spring Boot"), second.map(Community::getName).getContent());
+    }
+
+    private void insert(String name, String description, boolean deleted, String createdAt) {
+        jdbcTemplate.update("INSERT INTO communities (name, description, visibility, owner_id, created_at, " +
+                        "updated_at, is_deleted) VALUES (?, ?, 'PUBLIC', 'owner', CAST(? AS TIMESTAMP), " +
+                        "CAST(? AS TIMESTAMP), ?)",
+                name, description, createdAt, createdAt, deleted);
+    }
+}
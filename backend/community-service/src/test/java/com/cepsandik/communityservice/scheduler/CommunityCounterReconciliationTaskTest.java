@@ -0,0 +1,73 @@
+package com.cepsandik.communityservice.scheduler;
+
+import com.cepsandik.communityservice.repository.CommunityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommunityCounterReconciliationTaskTest {
+
+    @Mock
+    private CommunityRepository communityRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommunityCounterReconciliationTask task;
+
+    @BeforeEach
+    void setUp() {
+        task = new CommunityCounterReconciliationTask(communityRepository, transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("Her parti önce kilitlenmeli, sonra kendi transaction'ında yeniden sayılmalı")
+    void reconcileMemberCounters_LocksBeforeCountingPerBatch() {
+        // Given
+        when(communityRepository.lockCounterRowsAfter(0L, 2)).thenReturn(List.of(1L, 4L));
+        when(communityRepository.lockCounterRowsAfter(4L, 2)).thenReturn(List.of(7L));
+        when(communityRepository.reconcileMemberCounters(anyCollection())).thenReturn(1, 0);
+
+        // When
+        task.reconcileMemberCounters();
+
+        // Then
+        InOrder inOrder = inOrder(transactionManager, communityRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(communityRepository).lockCounterRowsAfter(0L, 2);
+        inOrder.verify(communityRepository).reconcileMemberCounters(List.of(1L, 4L));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(communityRepository).lockCounterRowsAfter(4L, 2);
+        inOrder.verify(communityRepository).reconcileMemberCounters(List.of(7L));
+        inOrder.verify(transactionManager).commit(any());
+        verifyNoMoreInteractions(communityRepository);
+    }
+
+    @Test
+    @DisplayName("Tam dolu son partiden sonra boş parti gelince durmalı")
+    void reconcileMemberCounters_StopsOnEmptyBatch() {
+        // Given
+        when(communityRepository.lockCounterRowsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(communityRepository.lockCounterRowsAfter(2L, 2)).thenReturn(List.of());
+        when(communityRepository.reconcileMemberCounters(anyCollection())).thenReturn(0);
+
+        // When
+        task.reconcileMemberCounters();
+
+        // Then
+        verify(communityRepository, times(1)).reconcileMemberCounters(anyCollection());
+        verify(communityRepository, times(2)).lockCounterRowsAfter(anyLong(), eq(2));
+    }
+}
@@ -0,0 +1,78 @@
+package com.cepsandik.communityservice.scheduler;
+
+import com.cepsandik.communityservice.repository.CommunityInvitationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvitationCleanupTaskTest {
+
+    @Mock
+    private CommunityInvitationRepository invitationRepository;
+
+    private InvitationCleanupTask cleanupTask;
+
+    @BeforeEach
+    void setUp() {
+        cleanupTask = new InvitationCleanupTask(invitationRepository, 100);
+    }
+
+    @Test
+    @DisplayName("Süresi dolmuş davetler parti parti, eksik parti gelene kadar pasif yapılmalı")
+    void cleanupExpiredInvitations_RunsUntilPartialBatch() {
+        // Given
+        when(invitationRepository.deactivateExpiredBatch(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 42);
+
+        // When
+        cleanupTask.cleanupExpiredInvitations();
+
+        // Then
+        verify(invitationRepository, times(3)).deactivateExpiredBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    @DisplayName("Temizlenecek davet yoksa tek sorgu çalışmalı")
+    void cleanupMaxUsedInvitations_NothingToDo() {
+        // Given
+        when(invitationRepository.deactivateMaxUsedBatch(100)).thenReturn(0);
+
+        // When
+        cleanupTask.cleanupMaxUsedInvitations();
+
+        // Then
+        verify(invitationRepository, times(1)).deactivateMaxUsedBatch(100);
+    }
+
+    @Test
+    @DisplayName("app.invitation-cleanup.enabled=false iken görev bean'i oluşturulmamalı")
+    void cleanupTask_DisabledByProperty() {
+        contextRunner()
+                .withPropertyValues("app.invitation-cleanup.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(InvitationCleanupTask.class));
+    }
+
+    @Test
+    @DisplayName("Özellik verilmezse görev bean'i varsayılan olarak oluşturulmalı")
+    void cleanupTask_EnabledByDefault() {
+        contextRunner()
+                .run(context -> assertThat(context).hasSingleBean(InvitationCleanupTask.class));
+    }
+
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withBean(CommunityInvitationRepository.class, () -> invitationRepository)
+                .withUserConfiguration(InvitationCleanupTask.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cepsandik.communityservice.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalJwtServiceTest {
+
+    private static final String SECRET = "95d597309c7a8d06c95bab3136b53274e61dbbfcb1d1ca0fb9a24dff342d63ed";
+
+    private SecretKey key;
+    private InternalJwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtService = new InternalJwtService(SECRET, 100);
+    }
+
+    private String token(Object uid, Instant expiresAt) {
+        return Jwts.builder()
+                .issuer("api-gateway")
+                .claim("uid", uid)
+                .issuedAt(new Date())
+                .expiration(Date.from(expiresAt))
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    @DisplayName("Geçerli token'dan kullanıcı ve issuer tek seferde çıkarılmalı")
+    void verify_ValidToken_ReturnsClaims() {
+        // Given
+        String token = token("user-1", Instant.now().plusSeconds(30));
+
+        // When
+        VerifiedInternalToken verified = jwtService.verify(token);
+
+        // Then
+        assertEquals("user-1", verified.userId());
+        assertEquals("api-gateway", verified.issuer());
+        assertNotNull(verified.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Aynı token ikinci kez cache'ten dönmeli")
+    void verify_SameToken_ServedFromCache() {
+        // Given
+        String token = token("user-1", Instant.now().plusSeconds(30));
+
+        // When
+        VerifiedInternalToken first = jwtService.verify(token);
+        VerifiedInternalToken second = jwtService.verify(token);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Sayısal uid claim'i string'e çevrilmeli")
+    void verify_NumericUid_ReturnsString() {
+        // Given
+        String token = token(42, Instant.now().plusSeconds(30));
+
+        // When
+        VerifiedInternalToken verified = jwtService.verify(token);
+
+        // Then
+        assertEquals("42", verified.userId());
+    }
+
+    @Test
+    @DisplayName("Payload'ı değiştirilmiş token reddedilmeli")
+    void verify_TamperedPayload_Throws() {
+        // Given
+        String valid = token("user-1", Instant.now().plusSeconds(30));
+        jwtService.verify(valid);
+        String other = token("user-2", Instant.now().plusSeconds(30));
+        String[] validParts = valid.split("\\.");
+        String[] otherParts = other.split("\\.");
+        String tampered = validParts[0] + "." + otherParts[1] + "." + validParts[2];
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Süresi dolmuş token reddedilmeli")
+    void verify_ExpiredToken_Throws() {
+        // Given
+        String token = token("user-1", Instant.now().minusSeconds(5));
+
+        // When & Then
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+}
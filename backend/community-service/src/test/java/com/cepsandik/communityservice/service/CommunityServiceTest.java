@@ -1,8 +1,10 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
 import com.cepsandik.communityservice.dto.request.CreateCommunityRequest;
 import com.cepsandik.communityservice.dto.request.UpdateCommunityRequest;
 import com.cepsandik.communityservice.dto.response.CommunityResponse;
+import com.cepsandik.communityservice.dto.response.PageResponse;
 import com.cepsandik.communityservice.entity.Community;
 import com.cepsandik.communityservice.entity.CommunityMember;
 import com.cepsandik.communityservice.enums.CommunityVisibility;
@@ -12,16 +14,22 @@ import com.cepsandik.communityservice.exception.ApiException;
 import com.cepsandik.communityservice.mapper.CommunityMapper;
 import com.cepsandik.communityservice.repository.CommunityMemberRepository;
 import com.cepsandik.communityservice.repository.CommunityRepository;
+import com.cepsandik.communityservice.repository.projection.CommunityMembershipView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +48,6 @@ class CommunityServiceTest {
     @Spy
     private CommunityMapper communityMapper = new CommunityMapper();
 
-    @InjectMocks
     private CommunityService communityService;
 
     private Community testCommunity;
@@ -49,6 +56,10 @@ class CommunityServiceTest {
 
     @BeforeEach
     void setUp() {
+        MembershipCache membershipCache = new MembershipCache(memberRepository, new SimpleMeterRegistry(), 60, 100);
+        communityService = new CommunityService(communityRepository, memberRepository, membershipCache,
+                communityMapper);
+
         testCommunity = new Community();
         testCommunity.setId(1L);
         testCommunity.setName("Test Topluluk");
@@ -91,8 +102,6 @@ class CommunityServiceTest {
             m.setId(1L);
             return m;
         });
-        when(memberRepository.countByCommunityIdAndStatus(anyLong(), eq(MemberStatus.APPROVED)))
-                .thenReturn(1L);
         when(memberRepository.findByCommunityIdAndUserId(anyLong(), anyString()))
                 .thenReturn(Optional.of(testMember));
 
@@ -133,8 +142,7 @@ class CommunityServiceTest {
     void getCommunityById_Success() {
         // Given
         when(communityRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testCommunity));
-        when(memberRepository.existsByCommunityIdAndUserId(1L, testUserId)).thenReturn(true);
-        when(memberRepository.countByCommunityIdAndStatus(1L, MemberStatus.APPROVED)).thenReturn(5L);
+        testCommunity.setApprovedMemberCount(5L);
         when(memberRepository.findByCommunityIdAndUserId(1L, testUserId)).thenReturn(Optional.of(testMember));
 
         // When
@@ -151,7 +159,7 @@ class CommunityServiceTest {
     void getCommunityById_NotMember_ThrowsException() {
         // Given
         when(communityRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testCommunity));
-        when(memberRepository.existsByCommunityIdAndUserId(1L, "other-user")).thenReturn(false);
+        when(memberRepository.findByCommunityIdAndUserId(1L, "other-user")).thenReturn(Optional.empty());
 
         // When & Then
         ApiException exception = assertThrows(ApiException.class,
@@ -173,6 +181,84 @@ class CommunityServiceTest {
         assertEquals("Topluluk bulunamadı", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Kullanıcının toplulukları tek sorguda listelenmeli")
+    void getMyCommunities_Success() {
+        // Given
+        CommunityMembershipView view = new CommunityMembershipView() {
+            @Override
+            public Community getCommunity() {
+                return testCommunity;
+            }
+
+            @Override
+            public long getMemberCount() {
+                return 7L;
+            }
+
+            @Override
+            public MemberRole getUserRole() {
+                return MemberRole.OWNER;
+            }
+        };
+        Pageable pageable = PageRequest.of(0, 20);
+        when(communityRepository.findMemberCommunities(testUserId, MemberStatus.APPROVED, pageable))
+                .thenReturn(new PageImpl<>(List.of(view), pageable, 1));
+
+        // When
+        PageResponse<CommunityResponse> response = communityService.getMyCommunities(testUserId, 0, 20);
+
+        // Then
+        assertEquals(1, response.getContent().size());
+        assertEquals(7L, response.getContent().get(0).getMemberCount());
+        assertEquals(MemberRole.OWNER, response.getContent().get(0).getUserRole());
+        assertEquals(1L, response.getTotalElements());
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    @DisplayName("Arama sonuçlarının üye sayıları sayaç kolonlarından okunmalı")
+    void searchCommunities_UsesMemberCounters() {
+        // Given
+        Community other = new Community();
+        other.setId(2L);
+        other.setName("Test Diğer");
+        other.setVisibility(CommunityVisibility.PUBLIC);
+        other.setOwnerId("other-user");
+        testCommunity.setApprovedMemberCount(3L);
+
+        when(communityRepository.searchCommunities(eq("Test"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testCommunity, other), PageRequest.of(0, 20), 2));
+
+        // When
+        PageResponse<CommunityResponse> response = communityService.searchCommunities("Test", 0, 20);
+
+        // Then
+        assertEquals(2, response.getContent().size());
+        assertEquals(3L, response.getContent().get(0).getMemberCount());
+        assertEquals(0L, response.getContent().get(1).getMemberCount());
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    @DisplayName("Arama sıralaması sorguya bırakılmalı, sayfa sıralamasız istenmeli")
+    void searchCommunities_PassesUnsortedPage() {
+        // Given
+        when(communityRepository.searchCommunities(eq("Test"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(2, 5), 11));
+
+        // When
+        PageResponse<CommunityResponse> response = communityService.searchCommunities("Test", 2, 5);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(communityRepository).searchCommunities(eq("Test"), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(5, pageable.getValue().getPageSize());
+        assertTrue(pageable.getValue().getSort().isUnsorted());
+        assertEquals(11, response.getTotalElements());
+    }
+
     @Test
     @DisplayName("Topluluk başarıyla güncellenmeli")
     void updateCommunity_Success() {
@@ -184,7 +270,6 @@ class CommunityServiceTest {
         when(communityRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testCommunity));
         when(memberRepository.findByCommunityIdAndUserId(1L, testUserId)).thenReturn(Optional.of(testMember));
         when(communityRepository.save(any(Community.class))).thenReturn(testCommunity);
-        when(memberRepository.countByCommunityIdAndStatus(1L, MemberStatus.APPROVED)).thenReturn(1L);
 
         // When
         CommunityResponse response = communityService.updateCommunity(1L, request, testUserId);
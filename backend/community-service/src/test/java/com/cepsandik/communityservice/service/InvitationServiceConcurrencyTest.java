@@ -0,0 +1,128 @@
+package com.cepsandik.communityservice.service;
+
+import com.cepsandik.communityservice.cache.MembershipCache;
+import com.cepsandik.communityservice.dto.request.JoinCommunityRequest;
+import com.cepsandik.communityservice.dto.response.CommunityResponse;
+import com.cepsandik.communityservice.exception.ApiException;
+import com.cepsandik.communityservice.mapper.InvitationMapper;
+import com.cepsandik.communityservice.repository.CommunityInvitationRepository;
+import com.cepsandik.communityservice.repository.CommunityMemberRepository;
+import com.cepsandik.communityservice.repository.CommunityRepository;
+import com.cepsandik.communityservice.repository.PostgresRepositoryTest;
+import com.cepsandik.communityservice.util.CodeGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Popüler bir davet koduna aynı anda çok sayıda katılım isteği gelmesini gerçek
+ * PostgreSQL üzerinde simüle eder. Her katılım kendi transaction'ında commit edilir;
+ * hak alamayanların üye kayıtları rollback ile silinir.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InvitationServiceConcurrencyTest extends PostgresRepositoryTest {
+
+    private static final int MAX_USES = 50;
+    private static final int JOIN_ATTEMPTS = 300;
+
+    @Autowired
+    private CommunityInvitationRepository invitationRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long communityId;
+
+    @BeforeEach
+    void setUp() {
+        communityId = jdbcTemplate.queryForObject("INSERT INTO communities (name, visibility, owner_id) " +
+                "VALUES ('Popüler', 'PUBLIC', 'owner') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO community_invitations (community_id, code, max_uses, created_by) " +
+                "VALUES (?, 'POPULAR1', ?, 'owner')", communityId, MAX_USES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM communities WHERE id = ?", communityId);
+    }
+
+    @Test
+    @DisplayName("Eşzamanlı katılımlarda tam olarak maxUses kadar üye commit edilmeli")
+    void joinCommunity_ParallelBurst_CommitsExactlyMaxUses() throws Exception {
+        // Given
+        CommunityService communityService = mock(CommunityService.class);
+        when(communityService.getCommunityById(eq(communityId), anyString())).thenReturn(new CommunityResponse());
+
+        InvitationService invitationService = new InvitationService(invitationRepository, communityRepository,
+                memberRepository, new MembershipCache(memberRepository, new SimpleMeterRegistry(), 60, 100),
+                new CodeGenerator(invitationRepository, CodeGenerator.Mode.RANDOM, "test-secret"), communityService,
+                new InvitationMapper());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < JOIN_ATTEMPTS; i++) {
+            String userId = "user-" + i;
+            results.add(executor.submit(() -> {
+                JoinCommunityRequest request = new JoinCommunityRequest();
+                request.setCode("POPULAR1");
+                start.await();
+                try {
+                    transaction.executeWithoutResult(status -> invitationService.joinCommunity(request, userId));
+                    return true;
+                } catch (ApiException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                admitted++;
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(MAX_USES, admitted);
+        assertEquals(MAX_USES, jdbcTemplate.queryForObject(
+                "SELECT current_uses FROM community_invitations WHERE community_id = ?", Integer.class, communityId));
+        assertEquals(MAX_USES, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM community_members WHERE community_id = ?", Integer.class, communityId));
+        assertEquals(MAX_USES, jdbcTemplate.queryForObject(
+                "SELECT approved_member_count FROM communities WHERE id = ?", Integer.class, communityId));
+    }
+}
@@ -1,5 +1,6 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
 import com.cepsandik.communityservice.dto.request.CreateInvitationRequest;
 import com.cepsandik.communityservice.dto.request.JoinCommunityRequest;
 import com.cepsandik.communityservice.dto.response.CommunityResponse;
@@ -20,9 +21,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -53,7 +54,6 @@ class InvitationServiceTest {
     @Spy
     private InvitationMapper invitationMapper = new InvitationMapper();
 
-    @InjectMocks
     private InvitationService invitationService;
 
     private Community testCommunity;
@@ -65,6 +65,10 @@ class InvitationServiceTest {
 
     @BeforeEach
     void setUp() {
+        MembershipCache membershipCache = new MembershipCache(memberRepository, new SimpleMeterRegistry(), 60, 100);
+        invitationService = new InvitationService(invitationRepository, communityRepository, memberRepository,
+                membershipCache, codeGenerator, communityService, invitationMapper);
+
         testCommunity = new Community();
         testCommunity.setId(1L);
         testCommunity.setName("Test Topluluk");
@@ -126,6 +130,26 @@ class InvitationServiceTest {
         verify(invitationRepository).save(any(CommunityInvitation.class));
     }
 
+    @Test
+    @DisplayName("Sıra tabanlı kodlarda varlık kontrolü yapılmamalı")
+    void createInvitation_CollisionFreeCodes_SkipsLookup() {
+        // Given
+        CreateInvitationRequest request = new CreateInvitationRequest();
+
+        when(communityRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testCommunity));
+        when(memberRepository.findByCommunityIdAndUserId(1L, ownerId)).thenReturn(Optional.of(testOwner));
+        when(codeGenerator.generateInvitationCode()).thenReturn("SEQCODE1");
+        when(codeGenerator.isCollisionFree()).thenReturn(true);
+        when(invitationRepository.save(any(CommunityInvitation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InvitationResponse response = invitationService.createInvitation(1L, request, ownerId);
+
+        // Then
+        assertEquals("SEQCODE1", response.getCode());
+        verify(invitationRepository, never()).findByCode(anyString());
+    }
+
     @Test
     @DisplayName("Normal üye davet oluşturamamalı")
     void createInvitation_NotAdminOrOwner_ThrowsException() {
@@ -158,7 +182,7 @@ class InvitationServiceTest {
         when(communityRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testCommunity));
         when(memberRepository.existsByCommunityIdAndUserId(1L, userId)).thenReturn(false);
         when(memberRepository.save(any(CommunityMember.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(invitationRepository.save(any(CommunityInvitation.class))).thenReturn(testInvitation);
+        when(invitationRepository.claimUse(eq(1L), any(LocalDateTime.class))).thenReturn(1);
         when(communityService.getCommunityById(1L, userId)).thenReturn(mockResponse);
 
         // When
@@ -169,6 +193,28 @@ class InvitationServiceTest {
         assertEquals(1L, response.getId());
         verify(memberRepository)
                 .save(argThat(m -> m.getRole() == MemberRole.MEMBER && m.getStatus() == MemberStatus.APPROVED));
+        verify(communityRepository).adjustMemberCounters(1L, 1, 0, 0);
+        verify(communityRepository).refresh(testCommunity);
+    }
+
+    @Test
+    @DisplayName("Kullanım hakkı başka bir katılıma kaptırılırsa hata fırlatmalı")
+    void joinCommunity_ClaimLost_ThrowsException() {
+        // Given
+        JoinCommunityRequest request = new JoinCommunityRequest();
+        request.setCode("ABC12345");
+
+        when(invitationRepository.findByCode("ABC12345")).thenReturn(Optional.of(testInvitation));
+        when(communityRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(testCommunity));
+        when(memberRepository.existsByCommunityIdAndUserId(1L, userId)).thenReturn(false);
+        when(invitationRepository.claimUse(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        ApiException exception = assertThrows(ApiException.class,
+                () -> invitationService.joinCommunity(request, userId));
+
+        assertEquals("Bu davet artık kullanılamıyor", exception.getMessage());
+        verify(communityRepository, never()).adjustMemberCounters(anyLong(), anyLong(), anyLong(), anyLong());
     }
 
     @Test
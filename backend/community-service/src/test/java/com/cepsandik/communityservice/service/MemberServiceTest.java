@@ -1,5 +1,6 @@
 package com.cepsandik.communityservice.service;
 
+import com.cepsandik.communityservice.cache.MembershipCache;
 import com.cepsandik.communityservice.dto.request.UpdateMemberRoleRequest;
 import com.cepsandik.communityservice.dto.response.MemberResponse;
 import com.cepsandik.communityservice.dto.response.PageResponse;
@@ -14,9 +15,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -42,7 +43,6 @@ class MemberServiceTest {
     @Spy
     private MemberMapper memberMapper = new MemberMapper();
 
-    @InjectMocks
     private MemberService memberService;
 
     private CommunityMember owner;
@@ -56,6 +56,9 @@ class MemberServiceTest {
 
     @BeforeEach
     void setUp() {
+        MembershipCache membershipCache = new MembershipCache(memberRepository, new SimpleMeterRegistry(), 60, 100);
+        memberService = new MemberService(memberRepository, communityRepository, membershipCache, memberMapper);
+
         owner = new CommunityMember();
         owner.setId(1L);
         owner.setCommunityId(communityId);
@@ -95,7 +98,7 @@ class MemberServiceTest {
         // Given
         Page<CommunityMember> page = new PageImpl<>(Arrays.asList(owner, admin, member));
 
-        when(memberRepository.existsByCommunityIdAndUserId(communityId, ownerId)).thenReturn(true);
+        when(memberRepository.findByCommunityIdAndUserId(communityId, ownerId)).thenReturn(Optional.of(owner));
         when(memberRepository.findByCommunityIdAndStatus(eq(communityId), eq(MemberStatus.APPROVED),
                 any(Pageable.class)))
                 .thenReturn(page);
@@ -113,7 +116,7 @@ class MemberServiceTest {
     @DisplayName("Üye olmayan kullanıcı üye listesini görememeli")
     void getMembers_NotMember_ThrowsException() {
         // Given
-        when(memberRepository.existsByCommunityIdAndUserId(communityId, "stranger")).thenReturn(false);
+        when(memberRepository.findByCommunityIdAndUserId(communityId, "stranger")).thenReturn(Optional.empty());
 
         // When & Then
         ApiException exception = assertThrows(ApiException.class,
@@ -160,6 +163,7 @@ class MemberServiceTest {
         assertNotNull(response);
         assertEquals(MemberRole.ADMIN, response.getRole());
         verify(memberRepository).save(argThat(m -> m.getRole() == MemberRole.ADMIN));
+        verify(communityRepository).adjustMemberCounters(communityId, 0, 0, 1);
     }
 
     @Test
@@ -209,6 +213,7 @@ class MemberServiceTest {
 
         // Then
         assertEquals(MemberStatus.APPROVED, response.getStatus());
+        verify(communityRepository).adjustMemberCounters(communityId, 1, -1, 0);
     }
 
     @Test
@@ -237,6 +242,7 @@ class MemberServiceTest {
 
         // Then
         verify(memberRepository).delete(member);
+        verify(communityRepository).adjustMemberCounters(communityId, -1, 0, 0);
     }
 
     @Test
@@ -283,6 +289,7 @@ class MemberServiceTest {
 
         // Then
         verify(memberRepository).delete(member);
+        verify(communityRepository).adjustMemberCounters(communityId, -1, 0, 0);
     }
 
     @Test
@@ -0,0 +1,100 @@
+package com.cepsandik.communityservice.util;
+
+import com.cepsandik.communityservice.repository.CommunityInvitationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CodeGeneratorTest {
+
+    private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ0123456789";
+
+    @Mock
+    private CommunityInvitationRepository invitationRepository;
+
+    @Test
+    @DisplayName("Sıra tabanlı kodlar tekrar etmemeli ve blok başına tek sorgu yapılmalı")
+    void sequenceMode_GeneratesUniqueCodesPerBlock() {
+        // Given
+        CodeGenerator generator = new CodeGenerator(invitationRepository, CodeGenerator.Mode.SEQUENCE, "secret");
+        when(invitationRepository.nextCodeSequenceBlock()).thenReturn(0L, 100L, 200L, 300L, 400L);
+
+        // When
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            codes.add(generator.generateInvitationCode());
+        }
+
+        // Then
+        assertEquals(500, codes.size());
+        assertTrue(codes.stream().allMatch(c -> c.length() == 8 && c.chars().allMatch(ch -> ALPHABET.indexOf(ch) >= 0)));
+        verify(invitationRepository, times(5)).nextCodeSequenceBlock();
+        assertTrue(generator.isCollisionFree());
+    }
+
+    @Test
+    @DisplayName("Permütasyon kod alanında birebir olmalı")
+    void permute_IsInjectiveAndStaysInCodeSpace() {
+        // Given
+        CodeGenerator generator = new CodeGenerator(invitationRepository, CodeGenerator.Mode.SEQUENCE, "secret");
+
+        // When
+        Set<Long> permuted = new HashSet<>();
+        for (long value = 0; value < 200_000; value++) {
+            long result = generator.permute(value);
+            assertTrue(result >= 0 && result < 1_785_793_904_896L);
+            permuted.add(result);
+        }
+
+        // Then
+        assertEquals(200_000, permuted.size());
+    }
+
+    @Test
+    @DisplayName("Farklı anahtarlar farklı kod dizileri üretmeli")
+    void permute_DependsOnSecret() {
+        CodeGenerator first = new CodeGenerator(invitationRepository, CodeGenerator.Mode.SEQUENCE, "secret-1");
+        CodeGenerator second = new CodeGenerator(invitationRepository, CodeGenerator.Mode.SEQUENCE, "secret-2");
+
+        assertNotEquals(first.permute(42), second.permute(42));
+    }
+
+    @Test
+    @DisplayName("SEQUENCE modunda boş anahtar reddedilmeli")
+    void sequenceMode_RejectsBlankSecret() {
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new CodeGenerator(invitationRepository, CodeGenerator.Mode.SEQUENCE, ""));
+        assertTrue(error.getMessage().contains("app.invitation-code.secret"));
+        assertThrows(IllegalStateException.class,
+                () -> new CodeGenerator(invitationRepository, CodeGenerator.Mode.SEQUENCE, "   "));
+    }
+
+    @Test
+    @DisplayName("RANDOM modunda anahtar kullanılmadığı için boş olabilmeli")
+    void randomMode_AllowsBlankSecret() {
+        CodeGenerator generator = new CodeGenerator(invitationRepository, CodeGenerator.Mode.RANDOM, "");
+
+        assertEquals(8, generator.generateInvitationCode().length());
+    }
+
+    @Test
+    @DisplayName("Rastgele modda veritabanına gidilmemeli")
+    void randomMode_DoesNotTouchSequence() {
+        CodeGenerator generator = new CodeGenerator(invitationRepository, CodeGenerator.Mode.RANDOM, "secret");
+
+        String code = generator.generateInvitationCode();
+
+        assertEquals(8, code.length());
+        assertFalse(generator.isCollisionFree());
+        verifyNoInteractions(invitationRepository);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cepsandik.userservice.annotations;
+
+import com.cepsandik.userservice.service.RateLimitingService.RateLimitType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Metodu kullanıcı bazlı iş kuralı limitine bağlar.
+ * Limit aşılırsa metot çalıştırılmadan 429 döner.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    RateLimitType type();
+    String key() default ""; // SpEL, örneğin "#email" veya "#req.email()"; boşsa oturumdaki kullanıcı
+}
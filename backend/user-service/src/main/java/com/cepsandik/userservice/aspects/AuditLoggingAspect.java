@@ -3,9 +3,8 @@ package com.cepsandik.userservice.aspects;
 import com.cepsandik.userservice.annotations.LogAudit;
 import com.cepsandik.userservice.dtos.responses.AuthResponse;
 import com.cepsandik.userservice.dtos.responses.UserResponse;
-import com.cepsandik.userservice.models.User;
+import com.cepsandik.userservice.security.AuthenticatedUser;
 import com.cepsandik.userservice.security.ClientInfoResolver;
-import com.cepsandik.userservice.security.JwtService;
 import com.cepsandik.userservice.service.AuditService;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
@@ -25,7 +24,6 @@ public class AuditLoggingAspect {
 
     private final AuditService auditService;
     private final ClientInfoResolver clientInfoResolver;
-    private final JwtService jwtService;
 
     @AfterReturning(pointcut = "@annotation(logAudit)", returning = "result")
     public void logSuccess(JoinPoint joinPoint, LogAudit logAudit, Object result) {
@@ -55,18 +53,15 @@ public class AuditLoggingAspect {
     private UUID resolveUserId(Object result) {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() instanceof User) {
-            return ((User) auth.getPrincipal()).getId();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.id();
         }
         if (result instanceof UserResponse) {
             return ((UserResponse) result).getId();
         }
         if (result instanceof AuthResponse authResponse) {
-            // 2FA durumunda accessToken null olabilir
-            if (authResponse.getAccessToken() != null) {
-                return jwtService.extractSubject(authResponse.getAccessToken());
-            }
-            return null;
+            // 2FA durumunda userId null'dır
+            return authResponse.userId();
         }
 
         return null;
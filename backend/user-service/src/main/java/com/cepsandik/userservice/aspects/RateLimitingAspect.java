@@ -0,0 +1,88 @@
+package com.cepsandik.userservice.aspects;
+
+import com.cepsandik.userservice.annotations.RateLimited;
+import com.cepsandik.userservice.common.MessageConstants;
+import com.cepsandik.userservice.exceptions.RetryLaterException;
+import com.cepsandik.userservice.security.AuthenticatedUser;
+import com.cepsandik.userservice.security.ClientInfoResolver;
+import com.cepsandik.userservice.service.AuditService;
+import com.cepsandik.userservice.service.RateLimitingService;
+import io.github.bucket4j.ConsumptionProbe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RateLimited} ile işaretli metotlardan önce kullanıcının bucket'ından bir
+ * token tüketir. Transaction ve audit aspect'lerinden önce çalışır; limit aşımında
+ * metot hiç çalışmaz, veritabanı/bcrypt/e-posta maliyeti oluşmaz.
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitingAspect {
+
+    private final RateLimitingService rateLimitingService;
+    private final AuditService auditService;
+    private final ClientInfoResolver clientInfoResolver;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Before("@annotation(rateLimited)")
+    public void consume(JoinPoint joinPoint, RateLimited rateLimited) {
+        String subject = resolveSubject(joinPoint, rateLimited);
+        if (subject == null) {
+            subject = "ip:" + clientInfoResolver.getClientIp();
+        }
+
+        ConsumptionProbe probe = rateLimitingService.resolveBucket(subject, rateLimited.type())
+                .tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (probe.getNanosToWaitForRefill() + 999_999_999) / 1_000_000_000);
+        log.warn("İş kuralı limiti aşıldı: type={}, subject={}", rateLimited.type(), subject);
+        auditService.log(null, "RATE_LIMIT_EXCEEDED", rateLimited.type().name(), clientInfoResolver.getClientIp());
+        throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS, MessageConstants.RATE_LIMIT_EXCEEDED,
+                retryAfterSeconds);
+    }
+
+    private String resolveSubject(JoinPoint joinPoint, RateLimited rateLimited) {
+        if (rateLimited.key().isBlank()) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+                return principal.id().toString();
+            }
+            return null;
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), signature.getMethod(), joinPoint.getArgs(), parameterNameDiscoverer);
+        Object value = expressions.computeIfAbsent(rateLimited.key(), parser::parseExpression).getValue(context);
+        // E-posta gibi anahtarlar büyük/küçük harf farkıyla limiti aşmasın
+        return value != null ? value.toString().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -42,6 +42,7 @@ public final class MessageConstants {
     public static final String UNKNOWN_ERROR = "Beklenmeyen bir hata oluştu. EC: ";
     public static final String RATE_LIMIT_EXCEEDED = "Çok fazla istek gönderdiniz. Lütfen bekleyin.";
     public static final String SERVER_ERROR = "Sunucu hatası. Lütfen daha sonra tekrar deneyin.";
+    public static final String SERVER_BUSY = "Sunucu şu anda yoğun. Lütfen kısa süre sonra tekrar deneyin.";
 
     // ✅ Validation messages (for reference, actual messages are in DTOs)
     public static final String FIELD_REQUIRED = "alanı zorunludur";
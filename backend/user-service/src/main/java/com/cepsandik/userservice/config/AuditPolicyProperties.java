@@ -0,0 +1,49 @@
+package com.cepsandik.userservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Audit politikası ayarları ({@code app.audit.policy.*}).
+ * <p>
+ * Action adları büyük/küçük harf ve boşluk/alt çizgi farkı gözetmeden eşleşir;
+ * örn. {@code PROFILE_VIEWING_SUCCESS}, "PROFILE VIEWING_SUCCESS" action'ını kapsar.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.audit.policy")
+@Getter
+@Setter
+public class AuditPolicyProperties {
+
+    /**
+     * Hiç yazılmayacak action'lar
+     */
+    private Set<String> disabledActions = new HashSet<>(Set.of("PROFILE_VIEWING_SUCCESS"));
+
+    /**
+     * Action bazında örnekleme oranı (0.0 - 1.0); tanımsız action'lar her zaman yazılır
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    /**
+     * Tekrarlayan aynı olayların pencere boyunca tek satırda toplanacağı action'lar
+     */
+    private Set<String> coalescedActions = new HashSet<>(Set.of("RATE_LIMIT_EXCEEDED", "UNAUTHENTICATED_ACCESS"));
+
+    /**
+     * Birleştirme penceresi (ms)
+     */
+    private long coalesceWindowMs = 60_000;
+
+    /**
+     * Aynı anda açık tutulabilecek birleştirme penceresi sayısı; aşılırsa olay atılır
+     */
+    private int coalesceMaxKeys = 10_000;
+}
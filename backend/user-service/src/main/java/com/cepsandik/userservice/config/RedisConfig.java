@@ -1,9 +1,13 @@
 package com.cepsandik.userservice.config;
 
+import com.cepsandik.userservice.service.TokenBlacklistService;
+import com.cepsandik.userservice.service.TokenRevocationService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -20,4 +24,20 @@ public class RedisConfig {
 
         return template;
     }
+
+    /**
+     * Token iptallerini replikalar arasında yayan pub/sub dinleyicisi
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+            TokenBlacklistService tokenBlacklistService,
+            TokenRevocationService tokenRevocationService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(tokenBlacklistService,
+                new ChannelTopic(TokenBlacklistService.REVOCATION_CHANNEL));
+        container.addMessageListener(tokenRevocationService,
+                new ChannelTopic(TokenRevocationService.REVOCATION_CHANNEL));
+        return container;
+    }
 }
@@ -1,14 +1,45 @@
 package com.cepsandik.userservice.config;
 
+import com.cepsandik.userservice.security.BulkheadPasswordEncoder;
+import com.cepsandik.userservice.security.LegacyHashAwarePasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
 
 @Configuration
 public class SecurityBeans {
+
+    /**
+     * Yeni hash'ler {@code app.password.encoding-id} ile üretilir; eski prefix'siz
+     * BCrypt hash'leri de doğrulanır. Algoritma ya da BCrypt maliyeti değişince
+     * login sırasında parola yeniden hash'lenir (bkz. AuthService.login); sadece
+     * prefix eksikliği yeniden hash'leme sebebi değildir.
+     * argon2 seçilecekse classpath'te BouncyCastle (bcprov) bulunmalıdır.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${app.password.encoding-id:bcrypt}") String encodingId,
+            @Value("${app.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.password.hashing.threads:0}") int threads,
+            @Value("${app.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8(),
+                "argon2@SpringSecurity_v5_8", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BulkheadPasswordEncoder(new LegacyHashAwarePasswordEncoder(delegating, encodingId, bcrypt),
+                meterRegistry, poolSize, queueCapacity, retryAfterSeconds);
     }
 }
@@ -4,19 +4,26 @@ import com.cepsandik.userservice.dtos.requests.UpdatePlatformRoleRequest;
 import com.cepsandik.userservice.dtos.requests.UpdateUserStatusRequest;
 import com.cepsandik.userservice.dtos.responses.AdminUserResponse;
 import com.cepsandik.userservice.dtos.responses.ApiResponse;
-import com.cepsandik.userservice.dtos.responses.AuditLogResponse;
+import com.cepsandik.userservice.dtos.responses.AuditLogCursorPage;
 import com.cepsandik.userservice.dtos.responses.PlatformStatsResponse;
 import com.cepsandik.userservice.exceptions.ApiException;
 import com.cepsandik.userservice.service.AdminService;
+import com.cepsandik.userservice.service.AuditLogExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -26,6 +33,7 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminService adminService;
+    private final AuditLogExportService auditLogExportService;
 
     /**
      * Platform rolü kontrolü yapar
@@ -91,6 +99,17 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.ok("Kullanıcı durumu güncellendi", user));
     }
 
+    @Operation(summary = "Tüm kullanıcıların access token'larını iptal eder")
+    @PostMapping("/tokens/revoke-all")
+    public ResponseEntity<ApiResponse<Void>> revokeAllTokens(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader("X-Platform-Role") String platformRole) {
+
+        validateAdminRole(platformRole);
+        adminService.revokeAllTokens(userId);
+        return ResponseEntity.ok(ApiResponse.ok("Tüm oturumlar sonlandırıldı"));
+    }
+
     @Operation(summary = "Platform istatistiklerini getirir")
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<PlatformStatsResponse>> getStats(
@@ -104,44 +123,90 @@ public class AdminController {
 
     // ========== Audit Logs ==========
 
-    @Operation(summary = "Tüm audit logları listeler")
+    @Operation(summary = "Tüm audit logları listeler (cursor tabanlı sayfalama)")
     @GetMapping("/audit-logs")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> getAllAuditLogs(
+    public ResponseEntity<ApiResponse<AuditLogCursorPage>> getAllAuditLogs(
             @RequestHeader("X-User-Id") String userId,
             @RequestHeader("X-Platform-Role") String platformRole,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        validateAdminRole(platformRole);
+        AuditLogCursorPage logs = adminService.getAllAuditLogs(cursor, size);
+        return ResponseEntity.ok(ApiResponse.ok("Audit logları listelendi", logs));
+    }
+
+    @Operation(summary = "Tarih aralığındaki audit logları listeler (cursor tabanlı sayfalama)")
+    @GetMapping("/audit-logs/range")
+    public ResponseEntity<ApiResponse<AuditLogCursorPage>> getAuditLogsByDateRange(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader("X-Platform-Role") String platformRole,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "50") int size) {
 
         validateAdminRole(platformRole);
-        Page<AuditLogResponse> logs = adminService.getAllAuditLogs(page, size);
+        AuditLogCursorPage logs = adminService.getAuditLogsByDateRange(from, to, cursor, size);
         return ResponseEntity.ok(ApiResponse.ok("Audit logları listelendi", logs));
     }
 
-    @Operation(summary = "Belirli bir kullanıcının audit loglarını listeler")
+    @Operation(summary = "Tarih aralığındaki audit logları CSV veya NDJSON olarak dışa aktarır")
+    @GetMapping("/audit-logs/export")
+    public void exportAuditLogs(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestHeader("X-Platform-Role") String platformRole,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+
+        validateAdminRole(platformRole);
+        adminService.validateDateRange(from, to);
+        AuditLogExportService.Format exportFormat = parseExportFormat(format);
+
+        String extension = exportFormat == AuditLogExportService.Format.CSV ? "csv" : "ndjson";
+        response.setContentType(exportFormat == AuditLogExportService.Format.CSV
+                ? "text/csv; charset=UTF-8"
+                : "application/x-ndjson; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"audit-logs." + extension + "\"");
+        auditLogExportService.export(from, to, exportFormat, response.getOutputStream());
+    }
+
+    @Operation(summary = "Belirli bir kullanıcının audit loglarını listeler (cursor tabanlı sayfalama)")
     @GetMapping("/audit-logs/user/{userId}")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> getAuditLogsByUser(
+    public ResponseEntity<ApiResponse<AuditLogCursorPage>> getAuditLogsByUser(
             @PathVariable("userId") UUID targetUserId,
             @RequestHeader("X-User-Id") String adminUserId,
             @RequestHeader("X-Platform-Role") String platformRole,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "50") int size) {
 
         validateAdminRole(platformRole);
-        Page<AuditLogResponse> logs = adminService.getAuditLogsByUserId(targetUserId, page, size);
+        AuditLogCursorPage logs = adminService.getAuditLogsByUserId(targetUserId, cursor, size);
         return ResponseEntity.ok(ApiResponse.ok("Kullanıcı audit logları listelendi", logs));
     }
 
-    @Operation(summary = "Action'a göre audit logları filtreler")
+    @Operation(summary = "Action'a göre audit logları filtreler (cursor tabanlı sayfalama)")
     @GetMapping("/audit-logs/action/{action}")
-    public ResponseEntity<ApiResponse<Page<AuditLogResponse>>> getAuditLogsByAction(
+    public ResponseEntity<ApiResponse<AuditLogCursorPage>> getAuditLogsByAction(
             @PathVariable String action,
             @RequestHeader("X-User-Id") String userId,
             @RequestHeader("X-Platform-Role") String platformRole,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "50") int size) {
 
         validateAdminRole(platformRole);
-        Page<AuditLogResponse> logs = adminService.getAuditLogsByAction(action, page, size);
+        AuditLogCursorPage logs = adminService.getAuditLogsByAction(action, cursor, size);
         return ResponseEntity.ok(ApiResponse.ok("Audit logları filtrelendi", logs));
     }
+
+    private static AuditLogExportService.Format parseExportFormat(String format) {
+        try {
+            return AuditLogExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Geçersiz export formatı: csv veya ndjson olmalıdır");
+        }
+    }
 }
@@ -3,7 +3,7 @@ package com.cepsandik.userservice.controllers;
 import com.cepsandik.userservice.dtos.requests.TwoFactorVerifyRequest;
 import com.cepsandik.userservice.dtos.responses.ApiResponse;
 import com.cepsandik.userservice.dtos.responses.TwoFactorSetupResponse;
-import com.cepsandik.userservice.models.User;
+import com.cepsandik.userservice.security.AuthenticatedUser;
 import com.cepsandik.userservice.service.TwoFactorAuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,16 +26,16 @@ public class TwoFactorAuthController {
     @Operation(summary = "2FA durumunu sorgular")
     @GetMapping("/status")
     public ResponseEntity<ApiResponse<Map<String, Boolean>>> getStatus(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        boolean enabled = twoFactorAuthService.getTwoFactorStatus(user.getEmail());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        boolean enabled = twoFactorAuthService.getTwoFactorStatus(user.email());
         return ResponseEntity.ok(ApiResponse.ok("2FA durumu", Map.of("enabled", enabled)));
     }
 
     @Operation(summary = "2FA kurulumunu başlatır")
     @PostMapping("/setup")
     public ResponseEntity<ApiResponse<TwoFactorSetupResponse>> setup(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        TwoFactorSetupResponse response = twoFactorAuthService.setupTwoFactor(user.getEmail());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        TwoFactorSetupResponse response = twoFactorAuthService.setupTwoFactor(user.email());
         return ResponseEntity
                 .ok(ApiResponse.ok("2FA kurulumu başlatıldı. QR kodu tarayın ve doğrulama kodunu girin.", response));
     }
@@ -45,8 +45,8 @@ public class TwoFactorAuthController {
     public ResponseEntity<ApiResponse<Void>> enable(
             Authentication authentication,
             @Valid @RequestBody TwoFactorVerifyRequest request) {
-        User user = (User) authentication.getPrincipal();
-        twoFactorAuthService.enableTwoFactor(user.getEmail(), request.code());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        twoFactorAuthService.enableTwoFactor(user.email(), request.code());
         return ResponseEntity.ok(ApiResponse.ok("2FA başarıyla etkinleştirildi"));
     }
 
@@ -55,12 +55,12 @@ public class TwoFactorAuthController {
     public ResponseEntity<ApiResponse<Void>> disable(
             Authentication authentication,
             @RequestBody Map<String, String> request) {
-        User user = (User) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         String password = request.get("password");
         if (password == null || password.isEmpty()) {
             return ResponseEntity.badRequest().body(ApiResponse.fail("Parola gereklidir"));
         }
-        twoFactorAuthService.disableTwoFactor(user.getEmail(), password);
+        twoFactorAuthService.disableTwoFactor(user.email(), password);
         return ResponseEntity.ok(ApiResponse.ok("2FA devre dışı bırakıldı"));
     }
 }
@@ -6,7 +6,7 @@ import com.cepsandik.userservice.dtos.requests.PasswordChangeRequest;
 import com.cepsandik.userservice.dtos.requests.UpdateProfileRequest;
 import com.cepsandik.userservice.dtos.responses.ApiResponse;
 import com.cepsandik.userservice.dtos.responses.UserResponse;
-import com.cepsandik.userservice.models.User;
+import com.cepsandik.userservice.security.AuthenticatedUser;
 import com.cepsandik.userservice.service.FileUploadService;
 import com.cepsandik.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,8 +30,8 @@ public class UserController {
     @Operation(summary = "Kullanıcı profil bilgilerini getirir")
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<UserResponse>> me(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
         UserResponse res = userService.me(email);
         return ResponseEntity.ok(ApiResponse.ok(MessageConstants.PROFILE_FETCHED, res));
     }
@@ -40,8 +40,8 @@ public class UserController {
     @PutMapping("/me")
     public ResponseEntity<ApiResponse<UserResponse>> updateMe(Authentication authentication,
             @Valid @RequestBody UpdateProfileRequest req) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
         UserResponse res = userService.updateMe(email, req);
         return ResponseEntity.ok(ApiResponse.ok(MessageConstants.PROFILE_UPDATED, res));
     }
@@ -50,8 +50,8 @@ public class UserController {
     @PutMapping("/me/password")
     public ResponseEntity<ApiResponse<Void>> changePassword(Authentication authentication,
             @Valid @RequestBody PasswordChangeRequest req) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
         userService.changePassword(email, req);
         return ResponseEntity.ok(ApiResponse.ok(MessageConstants.PASSWORD_CHANGED));
     }
@@ -59,8 +59,8 @@ public class UserController {
     @Operation(summary = "Kullanıcı hesabını siler")
     @DeleteMapping("/me")
     public ResponseEntity<ApiResponse<Void>> deleteMe(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
         userService.deleteMe(email);
         return ResponseEntity.ok(ApiResponse.ok(MessageConstants.ACCOUNT_DELETED));
     }
@@ -68,8 +68,8 @@ public class UserController {
     @Operation(summary = "Tüm cihazlardan çıkış yapar")
     @PostMapping("/me/logout-all")
     public ResponseEntity<ApiResponse<Void>> logoutAllDevices(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
         userService.logoutAllDevices(email);
         return ResponseEntity.ok(ApiResponse.ok("Tüm cihazlardan çıkış yapıldı"));
     }
@@ -79,8 +79,8 @@ public class UserController {
     public ResponseEntity<ApiResponse<Void>> requestEmailChange(
             Authentication authentication,
             @Valid @RequestBody EmailChangeRequest req) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
         userService.requestEmailChange(email, req);
         return ResponseEntity
                 .ok(ApiResponse.ok("Email değişikliği talebi oluşturuldu. Lütfen yeni email adresinizi kontrol edin."));
@@ -100,9 +100,9 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserResponse>> uploadProfileImage(
             Authentication authentication,
             @RequestParam("file") MultipartFile file) {
-        User user = (User) authentication.getPrincipal();
-        String userId = user.getId().toString();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String userId = user.id().toString();
+        String email = user.email();
 
         // Upload to S3
         String imageUrl = fileUploadService.uploadProfileImage(userId, file);
@@ -116,8 +116,8 @@ public class UserController {
     @Operation(summary = "Profil resmini siler")
     @DeleteMapping("/me/profile-image")
     public ResponseEntity<ApiResponse<UserResponse>> deleteProfileImage(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        String email = user.getEmail();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String email = user.email();
 
         UserResponse res = userService.deleteProfileImage(email);
 
@@ -0,0 +1,13 @@
+package com.cepsandik.userservice.dtos.responses;
+
+import java.util.List;
+
+/**
+ * Cursor (keyset) tabanlı audit log sayfası.
+ *
+ * @param nextCursor sonraki sayfa için {@code cursor} parametresi; son sayfada null
+ */
+public record AuditLogCursorPage(
+        List<AuditLogResponse> items,
+        String nextCursor) {
+}
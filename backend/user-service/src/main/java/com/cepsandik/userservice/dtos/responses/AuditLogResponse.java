@@ -12,5 +12,7 @@ public record AuditLogResponse(
         String action,
         String details,
         String ipAddress,
-        LocalDateTime timestamp) {
+        LocalDateTime timestamp,
+        int occurrenceCount,
+        LocalDateTime windowEnd) {
 }
@@ -1,22 +1,27 @@
 package com.cepsandik.userservice.dtos.responses;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 
+import java.util.UUID;
+
 public record AuthResponse(
         @Getter String accessToken,
         String refreshToken,
         String tokenType,
         long accessTokenExpireDate,
         boolean requires2FA,
-        String tempToken) {
-    public static AuthResponse bearer(String access, String refresh, long accessTokenExpireDate) {
-        return new AuthResponse(access, refresh, "Bearer", accessTokenExpireDate, false, null);
+        String tempToken,
+        /* Audit kaydı için; yanıta yazılmaz, token yeniden parse edilmez */
+        @JsonIgnore UUID userId) {
+    public static AuthResponse bearer(String access, String refresh, long accessTokenExpireDate, UUID userId) {
+        return new AuthResponse(access, refresh, "Bearer", accessTokenExpireDate, false, null, userId);
     }
 
     /**
      * 2FA gerektiren login için geçici token döner
      */
     public static AuthResponse requires2FA(String tempToken) {
-        return new AuthResponse(null, null, null, 0, true, tempToken);
+        return new AuthResponse(null, null, null, 0, true, tempToken, null);
     }
 }
@@ -0,0 +1,17 @@
+package com.cepsandik.userservice.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * İstemcinin belirli bir süre sonra tekrar denemesi gereken hatalar (429, 503).
+ * Yanıta Retry-After başlığı eklenir.
+ */
+@Getter
+public class RetryLaterException extends ApiException {
+    private final long retryAfterSeconds;
+    public RetryLaterException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(status, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -35,4 +35,17 @@ public class AuditLog {
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
+
+    /**
+     * Bu satırda birleştirilen olay sayısı (birleştirilmemiş kayıtlarda 1)
+     */
+    @Column(name = "occurrence_count", nullable = false)
+    @Builder.Default
+    private Integer occurrenceCount = 1;
+
+    /**
+     * Birleştirilen olaylarda son olayın zamanı; pencere [timestamp, windowEnd]
+     */
+    @Column(name = "window_end")
+    private LocalDateTime windowEnd;
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.cepsandik.userservice.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 2FA yedek kodu.
+ * Kodun kendisi değil, pepper'lı HMAC-SHA256 özeti saklanır.
+ */
+@Entity
+@Table(name = "two_factor_backup_codes")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TwoFactorBackupCode {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "code_digest", nullable = false, length = 64)
+    private String codeDigest;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
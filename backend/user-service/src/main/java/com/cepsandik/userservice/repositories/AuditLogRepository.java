@@ -1,11 +1,8 @@
 package com.cepsandik.userservice.repositories;
 
 import com.cepsandik.userservice.models.AuditLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -17,16 +14,45 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     List<AuditLog> findByUserIdOrderByTimestampDesc(UUID userId);
 
-    // Pagination support
-    Page<AuditLog> findAllByOrderByTimestampDesc(Pageable pageable);
-
-    Page<AuditLog> findByUserIdOrderByTimestampDesc(UUID userId, Pageable pageable);
-
-    Page<AuditLog> findByActionContainingIgnoreCaseOrderByTimestampDesc(String action, Pageable pageable);
-
-    // Date range filter
-    @Query("SELECT a FROM AuditLog a WHERE a.timestamp BETWEEN :start AND :end ORDER BY a.timestamp DESC")
-    Page<AuditLog> findByDateRange(@Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end,
-            Pageable pageable);
+    // Keyset pagination - (timestamp, id) azalan sırada, cursor'dan sonraki kayıtlar.
+    // Satır karşılaştırması (timestamp, id) < (...) tek bir index koşulu olarak
+    // (timestamp DESC, id DESC) indekslerine iner; OFFSET, COUNT(*) ve sort adımı yok.
+
+    @Query(value = """
+            SELECT * FROM audit_logs
+            WHERE (timestamp, id) < (:cursorTimestamp, :cursorId)
+            ORDER BY timestamp DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<AuditLog> findPageBefore(LocalDateTime cursorTimestamp, long cursorId, int limit);
+
+    @Query(value = """
+            SELECT * FROM audit_logs
+            WHERE (timestamp, id) < (:cursorTimestamp, :cursorId)
+              AND user_id = :userId
+            ORDER BY timestamp DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<AuditLog> findPageByUserIdBefore(UUID userId, LocalDateTime cursorTimestamp, long cursorId, int limit);
+
+    @Query(value = """
+            SELECT * FROM audit_logs
+            WHERE (timestamp, id) < (:cursorTimestamp, :cursorId)
+              AND strpos(lower(action), lower(:action)) > 0
+            ORDER BY timestamp DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<AuditLog> findPageByActionContainingBefore(String action, LocalDateTime cursorTimestamp, long cursorId,
+            int limit);
+
+    // Date range filter - timestamp üzerinde yarı açık aralık, sadece ilgili aylık partition'lar taranır
+    @Query(value = """
+            SELECT * FROM audit_logs
+            WHERE (timestamp, id) < (:cursorTimestamp, :cursorId)
+              AND timestamp >= :start AND timestamp < :end
+            ORDER BY timestamp DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<AuditLog> findPageByTimestampRangeBefore(LocalDateTime start, LocalDateTime end,
+            LocalDateTime cursorTimestamp, long cursorId, int limit);
 }
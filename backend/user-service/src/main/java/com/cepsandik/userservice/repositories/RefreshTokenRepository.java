@@ -1,19 +1,233 @@
 package com.cepsandik.userservice.repositories;
 
-import com.cepsandik.userservice.models.RefreshToken;
-import org.springframework.data.repository.CrudRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
-public interface RefreshTokenRepository extends CrudRepository<RefreshToken, String> {
-    // @Indexed anotasyonu sayesinde bu metodlar çalışır:
+/**
+ * Refresh token'ları Redis'te saklar.
+ * <p>
+ * Anahtar yapısı:
+ * <ul>
+ * <li>{@code rt:{<userId>}:<sha256(token)>} — kullanıcı id'si, TTL ile</li>
+ * <li>{@code rt:user:{<userId>}} — kullanıcının token hash'lerini veriliş zamanına
+ * göre tutan sorted set</li>
+ * </ul>
+ * Token'ın kendisi saklanmaz; istemciye verilen token {@code <userId>.<rastgele>}
+ * biçimindedir, böylece anahtarlar token'dan önceden hesaplanıp script'lere KEYS
+ * olarak verilir. Kullanıcı başına en fazla {@code max-per-user} token tutulur;
+ * fazlası en eskiden başlayarak silinir. Süresi dolan hash'ler her yazmada
+ * set'ten temizlenir, set'in TTL'i de son token ile birlikte uzar. Bir
+ * kullanıcının tüm anahtarları aynı hash tag'i taşır; script'in budama sırasında
+ * sildiği anahtarlar da bildirilen anahtarlarla aynı slot'tadır (Redis Cluster uyumlu).
+ */
+@Repository
+@Slf4j
+public class RefreshTokenRepository {
 
-    Optional<RefreshToken> findByToken(String token);
+    private static final String TOKEN_PREFIX = "rt:";
+    private static final String USER_PREFIX = "rt:user:";
+    private static final int REVOKE_BATCH_SIZE = 500;
 
-    List<RefreshToken> findByUserId(UUID userId);
+    /**
+     * Yeni token'ı yazar, set'i budar ve üst sınırı aşan en eski token'ları siler.
+     * tokenKey, userKey, hash, userId, now, ttl, max, tokenPrefix yerel değişkenlerini bekler.
+     */
+    private static final String ISSUE = """
+            redis.call('SET', tokenKey, userId, 'PX', ttl)
+            redis.call('ZADD', userKey, now, hash)
+            redis.call('ZREMRANGEBYSCORE', userKey, '-inf', now - ttl)
+            local excess = redis.call('ZCARD', userKey) - max
+            if excess > 0 then
+                local evicted = redis.call('ZPOPMIN', userKey, excess)
+                for i = 1, #evicted, 2 do
+                    redis.call('DEL', tokenPrefix .. evicted[i])
+                end
+            end
+            redis.call('PEXPIRE', userKey, ttl)
+            """;
 
-    void deleteByUserId(UUID userId);
-}
\ No newline at end of file
+    /**
+     * KEYS: token anahtarı, kullanıcı set'i — ARGV: hash, userId, şimdi (ms), TTL (ms), üst sınır, token anahtar öneki
+     */
+    private static final RedisScript<Long> ISSUE_SCRIPT = RedisScript.of("""
+            local tokenKey, userKey = KEYS[1], KEYS[2]
+            local hash, userId = ARGV[1], ARGV[2]
+            local now, ttl, max = tonumber(ARGV[3]), tonumber(ARGV[4]), tonumber(ARGV[5])
+            local tokenPrefix = ARGV[6]
+            """ + ISSUE + "return 1", Long.class);
+
+    /**
+     * KEYS: eski token anahtarı, kullanıcı set'i, yeni token anahtarı — ARGV: eski hash, yeni hash, userId,
+     * şimdi (ms), TTL (ms), üst sınır, token anahtar öneki
+     * <p>
+     * Eski token tek seferde tüketilir; aynı token ile eşzamanlı iki yenilemeden
+     * yalnızca biri başarılı olur. Dönüş: 1 ya da token yoksa 0.
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of("""
+            if redis.call('DEL', KEYS[1]) == 0 then
+                return 0
+            end
+            local userKey, tokenKey = KEYS[2], KEYS[3]
+            redis.call('ZREM', userKey, ARGV[1])
+            local hash, userId = ARGV[2], ARGV[3]
+            local now, ttl, max = tonumber(ARGV[4]), tonumber(ARGV[5]), tonumber(ARGV[6])
+            local tokenPrefix = ARGV[7]
+            """ + ISSUE + "return 1", Long.class);
+
+    /**
+     * KEYS: token anahtarı, kullanıcı set'i — ARGV: hash
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of("""
+            if redis.call('DEL', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final long ttlMillis;
+    private final int maxPerUser;
+
+    public RefreshTokenRepository(StringRedisTemplate redisTemplate,
+            @Value("${app.refresh-token.ttl-days:30}") long ttlDays,
+            @Value("${app.refresh-token.max-per-user:10}") int maxPerUser) {
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = Duration.ofDays(ttlDays).toMillis();
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Kullanıcı için yeni bir refresh token üretir ve saklar
+     *
+     * @return istemciye verilecek ham token
+     */
+    public String issue(UUID userId) {
+        String token = newToken(userId);
+        String hash = hash(token);
+        redisTemplate.execute(ISSUE_SCRIPT, List.of(tokenPrefix(userId) + hash, userKey(userId)),
+                hash, userId.toString(), now(), String.valueOf(ttlMillis), String.valueOf(maxPerUser),
+                tokenPrefix(userId));
+        return token;
+    }
+
+    /**
+     * Eski token'ı geçersiz kılıp aynı kullanıcı için yenisini üretir (tek atomik adım)
+     *
+     * @return eski token geçerliyse kullanıcı ve yeni token
+     */
+    public Optional<Rotation> rotate(String token) {
+        Optional<UUID> owner = ownerOf(token);
+        if (owner.isEmpty()) {
+            return Optional.empty();
+        }
+        UUID userId = owner.get();
+        String oldHash = hash(token);
+        String newToken = newToken(userId);
+        String newHash = hash(newToken);
+        Long rotated = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(tokenPrefix(userId) + oldHash, userKey(userId), tokenPrefix(userId) + newHash),
+                oldHash, newHash, userId.toString(), now(), String.valueOf(ttlMillis),
+                String.valueOf(maxPerUser), tokenPrefix(userId));
+        return Long.valueOf(1).equals(rotated)
+                ? Optional.of(new Rotation(userId, newToken))
+                : Optional.empty();
+    }
+
+    public void delete(String token) {
+        ownerOf(token).ifPresent(userId -> {
+            String hash = hash(token);
+            redisTemplate.execute(REVOKE_SCRIPT, List.of(tokenPrefix(userId) + hash, userKey(userId)), hash);
+        });
+    }
+
+    /**
+     * Kullanıcının tüm refresh token'larını siler.
+     * Anahtarlar partiler halinde pipeline ile UNLINK edilir.
+     */
+    public void deleteByUserId(UUID userId) {
+        String userKey = userKey(userId);
+        Set<String> hashes = redisTemplate.opsForZSet().range(userKey, 0, -1);
+
+        List<String> keys = new ArrayList<>();
+        if (hashes != null) {
+            hashes.forEach(hash -> keys.add(tokenPrefix(userId) + hash));
+        }
+        keys.add(userKey);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int from = 0; from < keys.size(); from += REVOKE_BATCH_SIZE) {
+                List<String> batch = keys.subList(from, Math.min(from + REVOKE_BATCH_SIZE, keys.size()));
+                stringConnection.unlink(batch.toArray(String[]::new));
+            }
+            return null;
+        });
+        log.info("Kullanıcının refresh token'ları silindi: userId={}, count={}", userId, keys.size() - 1);
+    }
+
+    private String newToken(UUID userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return userId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Token'ın önündeki kullanıcı id'sini çözer; biçim bozuksa boş döner
+     */
+    static Optional<UUID> ownerOf(String token) {
+        int separator = token == null ? -1 : token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(token.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Hash tag ({userId}) kullanıcının tüm anahtarlarını aynı slot'a koyar
+    static String tokenPrefix(UUID userId) {
+        return TOKEN_PREFIX + "{" + userId + "}:";
+    }
+
+    static String userKey(UUID userId) {
+        return USER_PREFIX + "{" + userId + "}";
+    }
+
+    private static String now() {
+        return String.valueOf(System.currentTimeMillis());
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    public record Rotation(UUID userId, String refreshToken) {
+    }
+}
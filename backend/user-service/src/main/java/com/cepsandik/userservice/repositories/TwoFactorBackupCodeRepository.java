@@ -0,0 +1,29 @@
+package com.cepsandik.userservice.repositories;
+
+import com.cepsandik.userservice.models.TwoFactorBackupCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TwoFactorBackupCodeRepository extends JpaRepository<TwoFactorBackupCode, Long> {
+
+    List<TwoFactorBackupCode> findByUserIdAndUsedAtIsNull(UUID userId);
+
+    /**
+     * Kodu yalnızca henüz kullanılmamışsa işaretler; eşzamanlı iki denemeden biri 0 döner
+     */
+    @Modifying
+    @Query("UPDATE TwoFactorBackupCode c SET c.usedAt = :usedAt WHERE c.id = :id AND c.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    @Modifying
+    @Query("DELETE FROM TwoFactorBackupCode c WHERE c.userId = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
+}
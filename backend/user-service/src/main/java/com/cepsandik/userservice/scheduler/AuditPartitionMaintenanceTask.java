@@ -0,0 +1,146 @@
+package com.cepsandik.userservice.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * audit_logs tablosunun aylık partition'larını yönetir: önümüzdeki aylar için
+ * partition açar, retention süresini aşan partition'ları ayırır (DETACH) ya da siler (DROP).
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.audit.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditPartitionMaintenanceTask {
+
+    public enum RetentionAction {
+        DETACH, DROP
+    }
+
+    static final String PARTITION_PREFIX = "audit_logs_";
+    static final String DEFAULT_PARTITION = "audit_logs_default";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM", Locale.ROOT);
+    // Replikalar aynı anda DDL çalıştırmasın
+    private static final long ADVISORY_LOCK_KEY = 0x61756469744c6f67L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+
+    public AuditPartitionMaintenanceTask(JdbcTemplate jdbcTemplate,
+            @Value("${app.audit.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.audit.retention-months:12}") int retentionMonths,
+            @Value("${app.audit.retention-action:DETACH}") RetentionAction retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+    }
+
+    /**
+     * Her gece 02:15'te gelecek ayların partition'larını oluşturur ve
+     * retention süresini aşan partition'ları ayırır/siler.
+     */
+    @Scheduled(cron = "${app.audit.partitions.cron:0 15 2 * * ?}")
+    @Transactional
+    public void maintainPartitions() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("Audit partition bakımı başka bir replikada çalışıyor, atlandı.");
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : existingPartitions()) {
+                parseMonth(partition)
+                        .filter(month -> month.isBefore(oldestKept))
+                        .ifPresent(month -> expirePartition(partition));
+            }
+        }
+    }
+
+    /**
+     * Ayın partition'ını oluşturur. Default partition'a bu ayın aralığında düşmüş kayıtlar varsa
+     * doğrudan PARTITION OF başarısız olur; bu yüzden tablo önce bağımsız oluşturulur, çakışan
+     * kayıtlar default partition'dan taşınır ve tablo sonra bağlanır (ATTACH).
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE audit_logs INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE timestamp >= '" + from + "' AND timestamp < '" + to + "' RETURNING *) "
+                + "INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+        if (moved > 0) {
+            log.warn("Audit partition {} oluşturuldu, default partition'dan {} kayıt taşındı.", partition, moved);
+        } else {
+            log.info("Audit partition oluşturuldu: {}", partition);
+        }
+    }
+
+    private void expirePartition(String partition) {
+        if (retentionAction == RetentionAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            log.info("Audit partition silindi: {}", partition);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+            log.info("Audit partition ayrıldı: {}", partition);
+        }
+    }
+
+    private List<String> existingPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'audit_logs'
+                """, String.class);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+    }
+
+    /**
+     * audit_logs_YYYY_MM adından ayı çıkarır; default partition gibi diğer adlar için boş döner
+     */
+    static Optional<YearMonth> parseMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.models.PlatformRole;
+import com.cepsandik.userservice.models.User;
+
+import java.util.UUID;
+
+/**
+ * Access token claim'lerinden oluşturulan hafif principal.
+ * <p>
+ * Kimlik doğrulama için User entity'si yüklenmez; entity'ye ihtiyaç duyan
+ * servis metotları kullanıcıyı kendisi yükler.
+ */
+public record AuthenticatedUser(UUID id, String email, PlatformRole platformRole) {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPlatformRole());
+    }
+}
@@ -2,9 +2,10 @@ package com.cepsandik.userservice.security;
 
 import com.cepsandik.userservice.repositories.UserRepository;
 import com.cepsandik.userservice.service.TokenBlacklistService;
+import com.cepsandik.userservice.service.TokenRevocationService;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,12 +14,32 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Bearer token'ı doğrular ve SecurityContext'e {@link AuthenticatedUser} yerleştirir.
+ * <p>
+ * Varsayılan olarak principal token claim'lerinden (sub, email, platformRole) oluşturulur
+ * ve istek başına veritabanına gidilmez. {@code app.jwt.claims-principal=false} ile
+ * eski davranışa (her istekte kullanıcıyı email ile yükleme) dönülebilir.
+ */
 @Service
-@RequiredArgsConstructor
 public class JwtAuthFilter extends GenericFilter {
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final TokenBlacklistService tokenBlacklistService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean claimsPrincipal;
+
+    public JwtAuthFilter(JwtService jwtService,
+            UserRepository userRepository,
+            TokenBlacklistService tokenBlacklistService,
+            TokenRevocationService tokenRevocationService,
+            @Value("${app.jwt.claims-principal:true}") boolean claimsPrincipal) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.claimsPrincipal = claimsPrincipal;
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -31,17 +52,25 @@ public class JwtAuthFilter extends GenericFilter {
             try {
                 String token = authHeader.substring(7);
 
-                // Blacklist kontrolü
-                if (tokenBlacklistService.isBlacklisted(token)) {
+                VerifiedToken verified = jwtService.verify(token);
+
+                // Blacklist ve kullanıcı iptal zamanı kontrolü (yerel, Redis'e gidilmez)
+                if (tokenBlacklistService.isBlacklisted(verified.tokenId())
+                        || tokenRevocationService.isRevoked(verified.subject(), verified.issuedAt())) {
                     chain.doFilter(request, response);
                     return;
                 }
 
-                String email = jwtService.extractEmail(token);
-                userRepository.findByEmail(email).ifPresent(user -> {
-                    var auth = new UsernamePasswordAuthenticationToken(user, null, List.of());
+                AuthenticatedUser principal = verified.toPrincipal();
+                if (!claimsPrincipal) {
+                    principal = userRepository.findByEmail(principal.email())
+                            .map(AuthenticatedUser::of)
+                            .orElse(null);
+                }
+                if (principal != null) {
+                    var auth = new UsernamePasswordAuthenticationToken(principal, null, List.of());
                     SecurityContextHolder.getContext().setAuthentication(auth);
-                });
+                }
             } catch (Exception ignored) {
             }
         }
@@ -6,21 +6,38 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Access ve 2FA geçici token'larını üretir ve doğrular.
+ * <p>
+ * İmzalama anahtarı ve parser uygulama başlarken bir kez oluşturulur; ikisi de
+ * immutable ve thread-safe olduğundan her çağrıda yeniden kurulmaz.
+ */
 @Service
 public class JwtService {
-    private final byte[] key;
+    private static final String ISSUER = "https://api.cepsandik.com";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
     private final long accessTtlSeconds;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.access-ttl-seconds:900}") long accessTtlSeconds) {
-        this.key = secret.getBytes(StandardCharsets.UTF_8);
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(ISSUER)
+                .build();
         this.accessTtlSeconds = accessTtlSeconds;
     }
 
@@ -28,50 +45,40 @@ public class JwtService {
         Instant now = Instant.now();
         Date expiration = Date.from(now.plusSeconds(accessTtlSeconds));
         String token = Jwts.builder()
-                .issuer("https://api.cepsandik.com")
+                .id(UUID.randomUUID().toString())
+                .issuer(ISSUER)
                 .subject(user.getId().toString())
                 .audience().add("web-app").add("mobile-app")
                 .and()
                 .claim("email", user.getEmail())
                 .claim("platformRole", user.getPlatformRole().name())
+                // iat saniye çözünürlüğünde; iptal kontrolü için milisaniye (bkz. TokenRevocationService)
+                .claim(VerifiedToken.ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
                 .issuedAt(Date.from(now))
                 .expiration(expiration)
-                .signWith(Keys.hmacShaKeyFor(key), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
         return Map.of("token", token, "expiration", expiration.getTime());
     }
 
-    public UUID extractSubject(String token) {
-        return UUID.fromString(
-                Jwts.parser()
-                        .verifyWith(Keys.hmacShaKeyFor(key))
-                        .requireIssuer("https://api.cepsandik.com")
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload()
-                        .getSubject());
-    }
-
-    public String extractEmail(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(key))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("email", String.class);
-    }
-
     /**
-     * Token'ın expiration timestamp'ini çıkarır (epoch saniye)
+     * Token'ı doğrular ve tüm claim'leri tek seferde çıkarır
+     *
+     * @throws JwtException token geçersiz veya süresi dolmuşsa
      */
-    public long extractExpiration(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(key))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getExpiration()
-                .getTime() / 1000; // milliseconds to seconds
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String tokenId = claims.getId() != null ? claims.getId() : sha256(token);
+        return VerifiedToken.from(claims, tokenId);
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
@@ -80,12 +87,13 @@ public class JwtService {
     public String generateTempToken(User user) {
         Instant now = Instant.now();
         return Jwts.builder()
-                .issuer("https://api.cepsandik.com")
+                .id(UUID.randomUUID().toString())
+                .issuer(ISSUER)
                 .subject(user.getId().toString())
                 .claim("purpose", "2fa")
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusSeconds(300))) // 5 dakika
-                .signWith(Keys.hmacShaKeyFor(key), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
@@ -94,21 +102,15 @@ public class JwtService {
      */
     public UUID validateTempTokenAndGetUserId(String token) {
         try {
-            var claims = Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(key))
-                    .requireIssuer("https://api.cepsandik.com")
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            VerifiedToken verified = verify(token);
 
             // purpose claim kontrolü
-            String purpose = claims.get("purpose", String.class);
-            if (!"2fa".equals(purpose)) {
+            if (!"2fa".equals(verified.purpose())) {
                 return null;
             }
 
-            return UUID.fromString(claims.getSubject());
-        } catch (JwtException e) {
+            return verified.subject();
+        } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
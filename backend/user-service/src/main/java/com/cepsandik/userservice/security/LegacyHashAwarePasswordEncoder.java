@@ -0,0 +1,53 @@
+package com.cepsandik.userservice.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Prefix'siz eski BCrypt hash'leri için yükseltme kararını BCrypt maliyetine
+ * göre veren {@link PasswordEncoder}.
+ * <p>
+ * {@code DelegatingPasswordEncoder} prefix'i olmayan her hash için yükseltme
+ * ister. Yeni hash'ler de BCrypt ile üretiliyorsa bu, sadece {@code {bcrypt}}
+ * prefix'i eklemek için her kullanıcının ilk girişinde ikinci bir BCrypt hesabı
+ * ve bir UPDATE demektir. Bu sınıf, algoritma aynıysa hash'i yalnızca maliyeti
+ * {@code app.password.bcrypt-strength} değerinin altındaysa yeniletir.
+ * Diğer tüm işlemler delegate'e bırakılır.
+ */
+public class LegacyHashAwarePasswordEncoder implements PasswordEncoder {
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private final PasswordEncoder delegate;
+    private final BCryptPasswordEncoder bcrypt;
+    private final boolean encodesWithBcrypt;
+
+    /**
+     * @param delegate   prefix'li hash'leri yöneten encoder (DelegatingPasswordEncoder)
+     * @param encodingId yeni hash'lerin üretildiği algoritmanın id'si
+     * @param bcrypt     prefix'siz hash'leri doğrulayan, hedef maliyetle kurulmuş BCrypt encoder
+     */
+    public LegacyHashAwarePasswordEncoder(PasswordEncoder delegate, String encodingId, BCryptPasswordEncoder bcrypt) {
+        this.delegate = delegate;
+        this.bcrypt = bcrypt;
+        this.encodesWithBcrypt = BCRYPT_ID.equals(encodingId);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodesWithBcrypt && encodedPassword != null && encodedPassword.startsWith("$2")) {
+            return bcrypt.upgradeEncoding(encodedPassword);
+        }
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -29,6 +29,14 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private final AuditService auditService;
     private final ObjectMapper objectMapper;
     private static final Pattern AUTH_PATTERN = Pattern.compile("^/api/v\\d+/auth.*");
+    // Health check ve dokümantasyon istekleri limite takılmaz
+    private static final Pattern EXEMPT_PATTERN = Pattern.compile(
+            "^/(actuator|v3/api-docs|swagger-ui|swagger-resources|webjars)(/.*)?$|^/swagger-ui\\.html$");
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return EXEMPT_PATTERN.matcher(request.getRequestURI()).matches();
+    }
 
     @Override
     protected void doFilterInternal(
@@ -0,0 +1,57 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.models.PlatformRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * İmzası doğrulanmış bir JWT'nin claim'leri. Token bir kez parse edilir,
+ * ihtiyaç duyulan tüm değerler buradan okunur.
+ *
+ * @param tokenId      jti claim'i; jti'siz eski token'larda token'ın SHA-256 özeti
+ * @param purpose      access token'larda null, 2FA geçici token'larında "2fa"
+ * @param platformRole sadece access token'larda dolu
+ * @param issuedAt     varsa {@code iatMs} claim'inden (milisaniye), yoksa {@code iat}'ten
+ */
+public record VerifiedToken(
+        String tokenId,
+        UUID subject,
+        String email,
+        PlatformRole platformRole,
+        String purpose,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
+    static VerifiedToken from(Claims claims, String tokenId) {
+        String role = claims.get("platformRole", String.class);
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        return new VerifiedToken(
+                tokenId,
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                role != null ? PlatformRole.valueOf(role) : null,
+                claims.get("purpose", String.class),
+                issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis)
+                        : claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    public boolean isAccessToken() {
+        return purpose == null;
+    }
+
+    /**
+     * Access token'dan principal oluşturur; 2FA geçici token'ları reddedilir
+     */
+    public AuthenticatedUser toPrincipal() {
+        if (!isAccessToken()) {
+            throw new MalformedJwtException("Not an access token");
+        }
+        return new AuthenticatedUser(subject, email, platformRole);
+    }
+}
@@ -2,6 +2,7 @@ package com.cepsandik.userservice.service;
 
 import com.cepsandik.userservice.common.MessageConstants;
 import com.cepsandik.userservice.dtos.responses.AdminUserResponse;
+import com.cepsandik.userservice.dtos.responses.AuditLogCursorPage;
 import com.cepsandik.userservice.dtos.responses.AuditLogResponse;
 import com.cepsandik.userservice.dtos.responses.PlatformStatsResponse;
 import com.cepsandik.userservice.exceptions.ApiException;
@@ -20,7 +21,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -33,6 +37,9 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final AuditLogRepository auditLogRepository;
+    private final TokenRevocationService tokenRevocationService;
+
+    private static final int MAX_AUDIT_PAGE_SIZE = 500;
 
     /**
      * Tüm kullanıcıları sayfalı olarak getirir
@@ -73,6 +80,8 @@ public class AdminService {
 
         user.setPlatformRole(newRole);
         User updated = userRepository.save(user);
+        // Token'lardaki eski platformRole claim'i kullanılamasın
+        tokenRevocationService.revokeAllTokens(userId);
 
         log.info("Kullanıcı rolü güncellendi: userId={}, newRole={}, byAdmin={}",
                 userId, newRole, adminUserId);
@@ -95,6 +104,9 @@ public class AdminService {
 
         user.setActive(isActive);
         User updated = userRepository.save(user);
+        if (!isActive) {
+            tokenRevocationService.revokeAllTokens(userId);
+        }
 
         log.info("Kullanıcı durumu güncellendi: userId={}, isActive={}, byAdmin={}",
                 userId, isActive, adminUserId);
@@ -102,6 +114,14 @@ public class AdminService {
         return toAdminUserResponse(updated);
     }
 
+    /**
+     * Tüm kullanıcıların verilmiş access token'larını geçersiz kılar (olay müdahalesi)
+     */
+    public void revokeAllTokens(String adminUserId) {
+        tokenRevocationService.revokeAllUsersTokens();
+        log.warn("Tüm access token'lar iptal edildi: byAdmin={}", adminUserId);
+    }
+
     /**
      * Platform istatistiklerini hesaplar
      */
@@ -131,30 +151,96 @@ public class AdminService {
     // ========== Audit Log Methods ==========
 
     /**
-     * Tüm audit logları sayfalı olarak getirir
+     * Tüm audit logları cursor ile sayfalar
+     */
+    public AuditLogCursorPage getAllAuditLogs(String cursor, int size) {
+        Cursor after = decodeCursor(cursor);
+        int limit = limit(size);
+        return toCursorPage(auditLogRepository.findPageBefore(after.timestamp(), after.id(), limit + 1), limit);
+    }
+
+    /**
+     * Tarih aralığındaki audit logları getirir ([from, to))
      */
-    public Page<AuditLogResponse> getAllAuditLogs(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<AuditLog> logs = auditLogRepository.findAllByOrderByTimestampDesc(pageable);
-        return logs.map(this::toAuditLogResponse);
+    public AuditLogCursorPage getAuditLogsByDateRange(LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        validateDateRange(from, to);
+        Cursor after = decodeCursor(cursor);
+        int limit = limit(size);
+        return toCursorPage(auditLogRepository.findPageByTimestampRangeBefore(
+                from, to, after.timestamp(), after.id(), limit + 1), limit);
     }
 
     /**
      * Belirli bir kullanıcının audit loglarını getirir
      */
-    public Page<AuditLogResponse> getAuditLogsByUserId(UUID userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<AuditLog> logs = auditLogRepository.findByUserIdOrderByTimestampDesc(userId, pageable);
-        return logs.map(this::toAuditLogResponse);
+    public AuditLogCursorPage getAuditLogsByUserId(UUID userId, String cursor, int size) {
+        Cursor after = decodeCursor(cursor);
+        int limit = limit(size);
+        return toCursorPage(auditLogRepository.findPageByUserIdBefore(
+                userId, after.timestamp(), after.id(), limit + 1), limit);
     }
 
     /**
      * Belirli bir action'a göre audit logları filtreler
      */
-    public Page<AuditLogResponse> getAuditLogsByAction(String action, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<AuditLog> logs = auditLogRepository.findByActionContainingIgnoreCaseOrderByTimestampDesc(action, pageable);
-        return logs.map(this::toAuditLogResponse);
+    public AuditLogCursorPage getAuditLogsByAction(String action, String cursor, int size) {
+        Cursor after = decodeCursor(cursor);
+        int limit = limit(size);
+        return toCursorPage(auditLogRepository.findPageByActionContainingBefore(
+                action, after.timestamp(), after.id(), limit + 1), limit);
+    }
+
+    private static int limit(int size) {
+        return Math.clamp(size, 1, MAX_AUDIT_PAGE_SIZE);
+    }
+
+    public void validateDateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Başlangıç tarihi bitiş tarihinden önce olmalıdır");
+        }
+    }
+
+    /**
+     * Sonraki sayfanın varlığı için limit + 1 kayıt okunur; fazlası yanıta eklenmez
+     */
+    private AuditLogCursorPage toCursorPage(List<AuditLog> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<AuditLog> page = hasNext ? rows.subList(0, limit) : rows;
+        List<AuditLogResponse> items = page.stream()
+                .map(this::toAuditLogResponse)
+                .toList();
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new AuditLogCursorPage(items, nextCursor);
+    }
+
+    /**
+     * Keyset konumu: bu (timestamp, id) değerinden küçük kayıtlar okunur
+     */
+    record Cursor(LocalDateTime timestamp, long id) {
+        // İlk sayfa: tüm kayıtlardan büyük bir konum (PostgreSQL timestamp aralığı içinde)
+        static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    }
+
+    /**
+     * Cursor: son kaydın "timestamp|id" değerinin base64url hali
+     */
+    static String encodeCursor(AuditLog last) {
+        String raw = last.getTimestamp() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Cursor.FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Geçersiz cursor");
+        }
     }
 
     private AdminUserResponse toAdminUserResponse(User user) {
@@ -179,6 +265,8 @@ public class AdminService {
                 log.getAction(),
                 log.getDetails(),
                 log.getIpAddress(),
-                log.getTimestamp());
+                log.getTimestamp(),
+                log.getOccurrenceCount(),
+                log.getWindowEnd());
     }
 }
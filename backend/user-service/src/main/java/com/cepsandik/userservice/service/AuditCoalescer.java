@@ -0,0 +1,108 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.config.AuditPolicyProperties;
+import com.cepsandik.userservice.models.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aynı kullanıcı, action, detay ve IP'ye sahip tekrarlayan audit olaylarını
+ * bir zaman penceresi boyunca tek bir kayıtta toplar. Pencere kapandığında
+ * olay sayısı ({@code occurrence_count}) ve pencere sonu ({@code window_end})
+ * ile tek satır yazılır.
+ */
+@Component
+public class AuditCoalescer {
+
+    private record Key(UUID userId, String action, String details, String ipAddress) {
+    }
+
+    private static final class Window {
+        private final LocalDateTime start = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private LocalDateTime end = start;
+        private int count;
+    }
+
+    private final AuditLogWriter auditLogWriter;
+    private final long windowNanos;
+    private final int maxKeys;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final Counter overflowCounter;
+
+    public AuditCoalescer(AuditLogWriter auditLogWriter,
+            AuditPolicyProperties properties,
+            MeterRegistry meterRegistry) {
+        this.auditLogWriter = auditLogWriter;
+        this.windowNanos = properties.getCoalesceWindowMs() * 1_000_000L;
+        this.maxKeys = properties.getCoalesceMaxKeys();
+        this.overflowCounter = meterRegistry.counter("audit.coalescer.overflow");
+        meterRegistry.gauge("audit.coalescer.windows", windows, Map::size);
+    }
+
+    /**
+     * Olayı açık pencereye ekler; pencere yoksa yenisini açar
+     *
+     * @return olay kabul edildiyse true, pencere sınırı dolduysa false
+     */
+    public boolean add(UUID userId, String action, String details, String ipAddress) {
+        Key key = new Key(userId, action, details, ipAddress);
+        if (!windows.containsKey(key) && windows.size() >= maxKeys) {
+            overflowCounter.increment();
+            return false;
+        }
+        windows.compute(key, (k, window) -> {
+            Window w = window != null ? window : new Window();
+            w.count++;
+            w.end = LocalDateTime.now();
+            return w;
+        });
+        return true;
+    }
+
+    /**
+     * Süresi dolan pencereleri yazıcıya aktarır
+     */
+    @Scheduled(fixedDelayString = "${app.audit.policy.coalesce-flush-interval-ms:1000}")
+    public void flushExpired() {
+        long now = System.nanoTime();
+        windows.forEach((key, window) -> {
+            if (now - window.startNanos >= windowNanos) {
+                emit(key);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        windows.keySet().forEach(this::emit);
+    }
+
+    private void emit(Key key) {
+        Window window = windows.remove(key);
+        if (window == null) {
+            return;
+        }
+        auditLogWriter.enqueue(AuditLog.builder()
+                .userId(key.userId())
+                .action(key.action())
+                .details(key.details())
+                .ipAddress(key.ipAddress())
+                .timestamp(window.start)
+                .occurrenceCount(window.count)
+                .windowEnd(window.count > 1 ? window.end : null)
+                .build());
+    }
+
+    int openWindows() {
+        return windows.size();
+    }
+}
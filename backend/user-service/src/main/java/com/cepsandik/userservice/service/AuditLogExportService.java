@@ -0,0 +1,166 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.dtos.responses.AuditLogResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Audit loglarını tarih aralığına göre CSV ya da NDJSON olarak dışa aktarır.
+ * <p>
+ * Satırlar forward-only bir JDBC cursor'dan sabit fetch size ile okunup doğrudan
+ * çıktıya yazılır; sonuç kümesi hiçbir zaman belleğe alınmaz. PostgreSQL sürücüsü
+ * cursor'ı sadece autocommit kapalıyken kullandığından sorgu read-only bir
+ * transaction içinde çalışır.
+ */
+@Service
+@Slf4j
+public class AuditLogExportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final String EXPORT_SQL = """
+            SELECT id, user_id, action, details, ip_address, timestamp, occurrence_count, window_end
+            FROM audit_logs
+            WHERE timestamp >= ? AND timestamp < ?
+            ORDER BY timestamp, id
+            """;
+    private static final String CSV_HEADER =
+            "id,user_id,action,details,ip_address,timestamp,occurrence_count,window_end\n";
+    // Hesap tablolarının formül olarak yorumladığı ilk karakterler
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AuditLogExportService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.audit.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * [from, to) aralığındaki kayıtları verilen formatta akışa yazar
+     *
+     * @return yazılan kayıt sayısı
+     */
+    public long export(LocalDateTime from, LocalDateTime to, Format format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long[] rows = {0};
+
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            return ps;
+        }, (ResultSet rs) -> {
+            try {
+                if (rows[0] == 0 && format == Format.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+                AuditLogResponse row = mapRow(rs);
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        try {
+            if (rows[0] == 0 && format == Format.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Audit export tamamlandı: {} kayıt, aralık=[{}, {})", rows[0], from, to);
+        return rows[0];
+    }
+
+    private static AuditLogResponse mapRow(ResultSet rs) throws SQLException {
+        Timestamp windowEnd = rs.getTimestamp("window_end");
+        return new AuditLogResponse(
+                rs.getLong("id"),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("action"),
+                rs.getString("details"),
+                rs.getString("ip_address"),
+                rs.getTimestamp("timestamp").toLocalDateTime(),
+                rs.getInt("occurrence_count"),
+                windowEnd != null ? windowEnd.toLocalDateTime() : null);
+    }
+
+    static void writeCsv(Writer writer, AuditLogResponse row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(row.userId() != null ? row.userId().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.action()));
+        writer.write(',');
+        writer.write(csvField(row.details()));
+        writer.write(',');
+        writer.write(csvField(row.ipAddress()));
+        writer.write(',');
+        writer.write(row.timestamp().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.occurrenceCount()));
+        writer.write(',');
+        writer.write(row.windowEnd() != null ? row.windowEnd().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180: virgül, tırnak veya satır sonu içeren alanlar tırnaklanır.
+     * <p>
+     * details ve ip_address (X-Forwarded-For) dışarıdan gelir; formül başlatan
+     * karakterle ({@code = + - @}, tab, CR) başlayan alanların önüne {@code '}
+     * eklenir, böylece dosya hesap tablosunda açıldığında formül çalışmaz.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
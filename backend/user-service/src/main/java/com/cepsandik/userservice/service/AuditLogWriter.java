@@ -0,0 +1,191 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.models.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit kayıtlarını sınırlı bir kuyrukta toplayıp tek bir yazıcı thread ile
+ * çok satırlı INSERT'ler halinde veritabanına yazar.
+ * <p>
+ * Kuyruk doluysa kayıt en fazla {@code app.audit.enqueue-timeout-ms} kadar
+ * bekletilir (0: beklemeden atılır); atılan kayıtlar sayaçla izlenir.
+ * Uygulama kapanırken kuyrukta kalan kayıtlar yazılır.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_logs (user_id, action, details, ip_address, timestamp, occurrence_count, window_end) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditLog> queue;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.audit.flush-size:200}") int flushSize,
+            @Value("${app.audit.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${app.audit.enqueue-timeout-ms:0}") long enqueueTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+
+        this.enqueuedCounter = meterRegistry.counter("audit.events", "result", "enqueued");
+        this.droppedCounter = meterRegistry.counter("audit.events", "result", "dropped");
+        this.writtenCounter = meterRegistry.counter("audit.events", "result", "written");
+        this.failedCounter = meterRegistry.counter("audit.events", "result", "failed");
+        meterRegistry.gauge("audit.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Kaydı kuyruğa ekler; kuyruk doluysa kayıt atılır
+     *
+     * @return kayıt kuyruğa alındıysa true
+     */
+    public boolean enqueue(AuditLog auditLog) {
+        boolean accepted;
+        try {
+            accepted = enqueueTimeoutMs > 0
+                    ? queue.offer(auditLog, enqueueTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(auditLog);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            enqueuedCounter.increment();
+        } else {
+            droppedCounter.increment();
+        }
+        return accepted;
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(flushSize);
+        while (running) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < flushSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, flushSize - batch.size());
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Kapanış sinyali; elimizdekini yaz, kuyrukta kalanlar shutdown() içinde yazılır
+                flush(batch);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Yazıcıyı durdurur ve kuyrukta kalan kayıtları yazar
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<AuditLog> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            flush(batch);
+        }
+        log.info("Audit yazıcısı durduruldu");
+    }
+
+    void flush(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(insertSql(batch.size()), toArgs(batch));
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Audit log yazımı başarısız ({} kayıt): {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] toArgs(List<AuditLog> batch) {
+        Object[] args = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (AuditLog auditLog : batch) {
+            args[i++] = auditLog.getUserId();
+            args[i++] = auditLog.getAction();
+            args[i++] = auditLog.getDetails();
+            args[i++] = auditLog.getIpAddress();
+            args[i++] = Timestamp.valueOf(auditLog.getTimestamp());
+            args[i++] = auditLog.getOccurrenceCount();
+            args[i++] = auditLog.getWindowEnd() != null ? Timestamp.valueOf(auditLog.getWindowEnd()) : null;
+        }
+        return args;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.config.AuditPolicyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Bir audit olayının yazılıp yazılmayacağına, örneklenip örneklenmeyeceğine
+ * ya da birleştirileceğine karar verir. Kararlar
+ * {@code audit.policy.decisions} sayaçlarıyla izlenir.
+ */
+@Component
+public class AuditPolicy {
+
+    public enum Decision {
+        WRITE, COALESCE, SUPPRESS, SAMPLE_OUT
+    }
+
+    private final Set<String> disabledActions;
+    private final Map<String, Double> sampleRates;
+    private final Set<String> coalescedActions;
+    private final Map<Decision, Counter> counters;
+
+    public AuditPolicy(AuditPolicyProperties properties, MeterRegistry meterRegistry) {
+        this.disabledActions = properties.getDisabledActions().stream()
+                .map(AuditPolicy::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+        this.sampleRates = properties.getSampleRates().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(e -> normalize(e.getKey()), Map.Entry::getValue));
+        this.coalescedActions = properties.getCoalescedActions().stream()
+                .map(AuditPolicy::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+        this.counters = Arrays.stream(Decision.values())
+                .collect(Collectors.toUnmodifiableMap(d -> d, d -> meterRegistry.counter(
+                        "audit.policy.decisions", "decision", d.name().toLowerCase(Locale.ROOT))));
+    }
+
+    public Decision evaluate(String action) {
+        Decision decision = decide(normalize(action));
+        counters.get(decision).increment();
+        return decision;
+    }
+
+    private Decision decide(String action) {
+        if (disabledActions.contains(action)) {
+            return Decision.SUPPRESS;
+        }
+        Double rate = sampleRates.get(action);
+        if (rate != null && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return Decision.SAMPLE_OUT;
+        }
+        if (coalescedActions.contains(action)) {
+            return Decision.COALESCE;
+        }
+        return Decision.WRITE;
+    }
+
+    static String normalize(String action) {
+        return action == null ? "" : action.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+    }
+}
@@ -1,47 +1,51 @@
 package com.cepsandik.userservice.service;
 
 import com.cepsandik.userservice.models.AuditLog;
-import com.cepsandik.userservice.repositories.AuditLogRepository;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Audit kayıtlarını {@link AuditPolicy}'ye göre süzer ve {@link AuditLogWriter}
+ * kuyruğuna (ya da birleştirilecekse {@link AuditCoalescer}'a) bırakır.
+ * Çağıran thread veritabanı yazımını beklemez.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuditService {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditPolicy auditPolicy;
+    private final AuditCoalescer auditCoalescer;
 
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void log(UUID userId, String action, String details, String ipAddress) {
-        try {
-            AuditLog log = AuditLog.builder()
-                    .userId(userId)
-                    .action(action)
-                    .details(details)
-                    .ipAddress(ipAddress)
-                    .build();
-
-            auditLogRepository.save(log);
-        } catch (Exception e) {
-            System.err.println("Audit Log kaydı başarısız: " + e.getMessage());
+        switch (auditPolicy.evaluate(action)) {
+            case SUPPRESS, SAMPLE_OUT -> {
+                return;
+            }
+            case COALESCE -> {
+                auditCoalescer.add(userId, action, details, ipAddress);
+                return;
+            }
+            case WRITE -> {
+                // aşağıda yazılır
+            }
         }
-    }
 
-    private String getClientIp(HttpServletRequest request) {
-        String remoteAddr = "";
-        if (request != null) {
-            remoteAddr = request.getHeader("X-FORWARDED-FOR");
-            if (remoteAddr == null || "".equals(remoteAddr)) {
-                remoteAddr = request.getRemoteAddr();
-            }
+        AuditLog auditLog = AuditLog.builder()
+                .userId(userId)
+                .action(action)
+                .details(details)
+                .ipAddress(ipAddress)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        if (!auditLogWriter.enqueue(auditLog)) {
+            log.debug("Audit kuyruğu dolu, kayıt atıldı: action={}", action);
         }
-        return remoteAddr;
     }
 }
@@ -1,19 +1,20 @@
 package com.cepsandik.userservice.service;
 
 import com.cepsandik.userservice.annotations.LogAudit;
+import com.cepsandik.userservice.annotations.RateLimited;
 import com.cepsandik.userservice.common.MessageConstants;
 import com.cepsandik.userservice.dtos.requests.*;
 import com.cepsandik.userservice.dtos.responses.AuthResponse;
 import com.cepsandik.userservice.dtos.responses.UserResponse;
 import com.cepsandik.userservice.exceptions.ApiException;
 import com.cepsandik.userservice.mappers.UserMapper;
-import com.cepsandik.userservice.models.RefreshToken;
 import com.cepsandik.userservice.models.PasswordResetToken;
 import com.cepsandik.userservice.models.User;
 import com.cepsandik.userservice.repositories.PasswordResetTokenRepository;
 import com.cepsandik.userservice.repositories.RefreshTokenRepository;
 import com.cepsandik.userservice.repositories.UserRepository;
 import com.cepsandik.userservice.security.JwtService;
+import com.cepsandik.userservice.service.RateLimitingService.RateLimitType;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -76,6 +77,7 @@ public class AuthService {
     }
 
     @LogAudit(action = "RESEND VERIFICATION")
+    @RateLimited(type = RateLimitType.EMAIL_VERIFICATION_RESEND, key = "#email")
     public void resendVerification(String email, String password) {
         var user = userRepository.findAnyByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, MessageConstants.INVALID_CREDENTIALS));
@@ -100,8 +102,8 @@ public class AuthService {
     @LogAudit(action = "LOGIN")
     public AuthResponse login(LoginRequest req) {
         // Önce hesap engellenmiş mi kontrol et
-        if (loginAttemptService.isBlocked(req.email())) {
-            long remainingMinutes = loginAttemptService.getRemainingLockoutMinutes(req.email());
+        long remainingMinutes = loginAttemptService.getRemainingLockoutMinutes(req.email());
+        if (remainingMinutes > 0) {
             throw new ApiException(HttpStatus.TOO_MANY_REQUESTS,
                     String.format(MessageConstants.ACCOUNT_LOCKED, remainingMinutes));
         }
@@ -128,8 +130,14 @@ public class AuthService {
         if (!user.isVerified())
             throw new ApiException(HttpStatus.FORBIDDEN, MessageConstants.EMAIL_NOT_VERIFIED);
 
+        // Hash eski algoritma/maliyetle üretildiyse ham parola elimizdeyken yenile
+        if (encoder.upgradeEncoding(user.getPasswordHash())) {
+            user.setPasswordHash(encoder.encode(req.password()));
+            userRepository.save(user);
+        }
+
         // 2FA kontrolü
-        if (twoFactorAuthService.isTwoFactorEnabled(user.getId())) {
+        if (user.isTwoFactorEnabled()) {
             // 2FA etkin - geçici token oluştur ve 2FA kodu iste
             String tempToken = jwt.generateTempToken(user);
             return AuthResponse.requires2FA(tempToken);
@@ -141,8 +149,8 @@ public class AuthService {
         Map<String, Object> accessTokenData = jwt.generateAccessTokenWithClaims(user);
         var access = (String) accessTokenData.get("token");
         var expireDate = (long) accessTokenData.get("expiration");
-        var refresh = createRefreshToken(user);
-        return AuthResponse.bearer(access, refresh.getToken(), expireDate);
+        var refresh = refreshRepository.issue(user.getId());
+        return AuthResponse.bearer(access, refresh, expireDate, user.getId());
     }
 
     /**
@@ -170,39 +178,37 @@ public class AuthService {
         Map<String, Object> accessTokenData = jwt.generateAccessTokenWithClaims(user);
         var access = (String) accessTokenData.get("token");
         var expireDate = (long) accessTokenData.get("expiration");
-        var refresh = createRefreshToken(user);
-        return AuthResponse.bearer(access, refresh.getToken(), expireDate);
+        var refresh = refreshRepository.issue(user.getId());
+        return AuthResponse.bearer(access, refresh, expireDate, user.getId());
     }
 
     @LogAudit(action = "TOKEN REFRESH")
     @Transactional
     public AuthResponse refresh(TokenRefreshRequest req) {
-        var rt = refreshRepository.findByToken(req.refreshToken())
+        // Refresh token tek kullanımlıktır: eskisi silinir, yerine yenisi verilir
+        var rotation = refreshRepository.rotate(req.refreshToken())
                 .orElseThrow(() -> new ApiException(HttpStatus.UNAUTHORIZED, MessageConstants.INVALID_REFRESH_TOKEN));
 
-        var user = userRepository.findById(rt.getUserId())
+        var user = userRepository.findById(rotation.userId())
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
 
         Map<String, Object> accessTokenData = jwt.generateAccessTokenWithClaims(user);
         var access = (String) accessTokenData.get("token");
         var expireDate = (long) accessTokenData.get("expiration");
 
-        return AuthResponse.bearer(access, rt.getToken(), expireDate);
+        return AuthResponse.bearer(access, rotation.refreshToken(), expireDate, user.getId());
     }
 
     @LogAudit(action = "LOGOUT")
     public void logout(String refreshToken, String accessToken) {
         // Refresh token'ı sil
-        refreshRepository.findByToken(refreshToken).ifPresent(refreshRepository::delete);
+        refreshRepository.delete(refreshToken);
 
         // Access token'ı blacklist'e ekle (varsa)
         if (accessToken != null && !accessToken.isEmpty()) {
             try {
-                long expiration = jwt.extractExpiration(accessToken);
-                long remainingSeconds = tokenBlacklistService.calculateRemainingSeconds(expiration);
-                if (remainingSeconds > 0) {
-                    tokenBlacklistService.blacklistToken(accessToken, remainingSeconds);
-                }
+                var verified = jwt.verify(accessToken);
+                tokenBlacklistService.blacklistToken(verified.tokenId(), verified.expiresAt().getEpochSecond());
             } catch (Exception ignored) {
                 // Token parse edilemezse devam et
             }
@@ -210,6 +216,7 @@ public class AuthService {
     }
 
     @LogAudit(action = "FORGOT PASSWORD")
+    @RateLimited(type = RateLimitType.PASSWORD_RESET, key = "#req.email()")
     public void requestPasswordReset(PasswordResetRequest req) {
         var user = userRepository.findByEmail(req.email())
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.EMAIL_NOT_EXISTS));
@@ -258,13 +265,4 @@ public class AuthService {
 
         userRepository.save(user);
     }
-
-    private RefreshToken createRefreshToken(User user) {
-        var rt = RefreshToken.builder()
-                .userId(user.getId())
-                .token(UUID.randomUUID().toString())
-                .build();
-
-        return refreshRepository.save(rt);
-    }
 }
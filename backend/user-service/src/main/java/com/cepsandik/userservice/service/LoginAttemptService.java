@@ -2,51 +2,76 @@ package com.cepsandik.userservice.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Başarısız giriş denemelerini takip eden ve geçici hesap engelleme sağlayan
  * servis.
  * Brute-force saldırılarına karşı koruma sağlar.
+ * <p>
+ * Her işlem Redis'e tek bir atomik çağrı ile gider: kontrol ve kayıt Lua
+ * script'leri ile, temizleme çok anahtarlı tek bir DEL ile yapılır. Değerler ham
+ * tamsayı olarak saklanır; kalan engel süresi anahtarın TTL'inden okunur.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LoginAttemptService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate redisTemplate;
 
     private static final int MAX_ATTEMPTS = 5;
     private static final int LOCKOUT_MINUTES = 15;
     private static final int ATTEMPT_EXPIRY_MINUTES = 30;
 
+    // Hash tag ({email}) iki anahtarı aynı slot'a koyar; script'ler cluster'da da çalışır
     private static final String ATTEMPTS_PREFIX = "login:attempts:";
     private static final String LOCKOUT_PREFIX = "login:lockout:";
 
+    /**
+     * KEYS: attempts, lockout — dönüş: {engelin kalan ms'si (yoksa 0), deneme sayısı}
+     */
+    private static final RedisScript<List> CHECK_SCRIPT = RedisScript.of("""
+            local ttl = redis.call('PTTL', KEYS[2])
+            if ttl < 0 then ttl = 0 end
+            local attempts = tonumber(redis.call('GET', KEYS[1]) or '0')
+            return {ttl, attempts}
+            """, List.class);
+
+    /**
+     * KEYS: attempts, lockout — ARGV: max deneme, deneme TTL (ms), engel süresi (ms)
+     * <p>
+     * Dönüş: {deneme sayısı, engel konduysa engel süresi (ms) yoksa 0}
+     */
+    private static final RedisScript<List> RECORD_FAILURE_SCRIPT = RedisScript.of("""
+            local attempts = redis.call('INCR', KEYS[1])
+            if redis.call('PTTL', KEYS[1]) < 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            if attempts >= tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[2], attempts, 'PX', ARGV[3])
+                return {attempts, tonumber(ARGV[3])}
+            end
+            return {attempts, 0}
+            """, List.class);
+
     /**
      * Başarısız giriş denemesini kaydet.
      * Maksimum deneme sayısına ulaşılırsa hesabı engelle.
      */
     public void recordFailedAttempt(String email) {
-        String attemptsKey = ATTEMPTS_PREFIX + email.toLowerCase();
-        String lockoutKey = LOCKOUT_PREFIX + email.toLowerCase();
+        List<?> result = redisTemplate.execute(RECORD_FAILURE_SCRIPT, keys(email),
+                String.valueOf(MAX_ATTEMPTS),
+                String.valueOf(ATTEMPT_EXPIRY_MINUTES * 60_000L),
+                String.valueOf(LOCKOUT_MINUTES * 60_000L));
 
-        Long attempts = redisTemplate.opsForValue().increment(attemptsKey);
-
-        if (attempts != null && attempts == 1) {
-            // İlk deneme, TTL ayarla
-            redisTemplate.expire(attemptsKey, ATTEMPT_EXPIRY_MINUTES, TimeUnit.MINUTES);
-        }
-
-        if (attempts != null && attempts >= MAX_ATTEMPTS) {
-            // Hesabı engelle
-            long lockoutEndTime = Instant.now().plusSeconds(LOCKOUT_MINUTES * 60L).toEpochMilli();
-            redisTemplate.opsForValue().set(lockoutKey, lockoutEndTime, Duration.ofMinutes(LOCKOUT_MINUTES));
+        long attempts = longAt(result, 0);
+        if (longAt(result, 1) > 0) {
             log.warn("Hesap geçici olarak engellendi: email={}, attempts={}", email, attempts);
         }
 
@@ -57,26 +82,14 @@ public class LoginAttemptService {
      * Hesabın engellenmiş olup olmadığını kontrol et.
      */
     public boolean isBlocked(String email) {
-        String lockoutKey = LOCKOUT_PREFIX + email.toLowerCase();
-        Object lockoutEndTime = redisTemplate.opsForValue().get(lockoutKey);
-
-        if (lockoutEndTime == null) {
-            return false;
-        }
-
-        long endTime = ((Number) lockoutEndTime).longValue();
-        return Instant.now().toEpochMilli() < endTime;
+        return getRemainingLockoutMinutes(email) > 0;
     }
 
     /**
      * Başarılı giriş sonrası denemeleri sıfırla.
      */
     public void clearAttempts(String email) {
-        String attemptsKey = ATTEMPTS_PREFIX + email.toLowerCase();
-        String lockoutKey = LOCKOUT_PREFIX + email.toLowerCase();
-
-        redisTemplate.delete(attemptsKey);
-        redisTemplate.delete(lockoutKey);
+        redisTemplate.delete(keys(email));
 
         log.info("Başarısız giriş denemeleri sıfırlandı: email={}", email);
     }
@@ -85,31 +98,37 @@ public class LoginAttemptService {
      * Kalan deneme sayısını döndür.
      */
     public int getRemainingAttempts(String email) {
-        String attemptsKey = ATTEMPTS_PREFIX + email.toLowerCase();
-        Object attempts = redisTemplate.opsForValue().get(attemptsKey);
-
-        if (attempts == null) {
-            return MAX_ATTEMPTS;
-        }
-
-        int currentAttempts = ((Number) attempts).intValue();
-        return Math.max(0, MAX_ATTEMPTS - currentAttempts);
+        long attempts = longAt(check(email), 1);
+        return (int) Math.max(0, MAX_ATTEMPTS - attempts);
     }
 
     /**
-     * Engel bitiş zamanını dakika olarak döndür.
+     * Engel bitiş zamanını dakika olarak döndür; hesap engelli değilse 0.
+     * <p>
+     * Engel kontrolü ve kalan süre tek çağrıda okunduğu için giriş akışında
+     * {@link #isBlocked(String)} yerine doğrudan bu metot kullanılır.
      */
     public long getRemainingLockoutMinutes(String email) {
-        String lockoutKey = LOCKOUT_PREFIX + email.toLowerCase();
-        Object lockoutEndTime = redisTemplate.opsForValue().get(lockoutKey);
-
-        if (lockoutEndTime == null) {
+        long remainingMs = longAt(check(email), 0);
+        if (remainingMs <= 0) {
             return 0;
         }
+        return (remainingMs + 59_999) / 60_000;
+    }
 
-        long endTime = ((Number) lockoutEndTime).longValue();
-        long remainingMs = endTime - Instant.now().toEpochMilli();
+    private List<?> check(String email) {
+        return redisTemplate.execute(CHECK_SCRIPT, keys(email));
+    }
+
+    private static List<String> keys(String email) {
+        String tag = "{" + email.toLowerCase(Locale.ROOT) + "}";
+        return List.of(ATTEMPTS_PREFIX + tag, LOCKOUT_PREFIX + tag);
+    }
 
-        return Math.max(0, (remainingMs / 1000 / 60) + 1);
+    private static long longAt(List<?> result, int index) {
+        if (result == null || result.size() <= index || !(result.get(index) instanceof Number number)) {
+            return 0;
+        }
+        return number.longValue();
     }
 }
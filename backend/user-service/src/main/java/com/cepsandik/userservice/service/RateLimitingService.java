@@ -1,10 +1,15 @@
 package com.cepsandik.userservice.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -15,35 +20,61 @@ import java.util.function.Supplier;
  * 
  * Gateway handles DDoS protection (IP-based).
  * This service handles user-specific business rules.
+ *
+ * Bucket proxy'leri anahtar başına önbelleğe alınır. Yüksek hacimli limitlerde
+ * (localTier) proxy Bucket4j'nin delaying optimizasyonu ile kurulur: tüketim
+ * JVM içindeki kopyadan yapılır, Redis ile yalnızca belirli sayıda token
+ * birikince ya da süre dolunca senkronize olur. Bunun bedeli, replika başına en
+ * fazla max-unsynchronized-tokens kadar limit aşımıdır.
  */
 @Service
-@RequiredArgsConstructor
 public class RateLimitingService {
 
     private final LettuceBasedProxyManager<String> proxyManager;
+    private final DelayParameters localTierParameters;
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitingService(LettuceBasedProxyManager<String> proxyManager,
+            @Value("${app.rate-limit.local.max-unsynchronized-tokens:10}") long maxUnsynchronizedTokens,
+            @Value("${app.rate-limit.local.max-unsynchronized-ms:500}") long maxUnsynchronizedMs,
+            @Value("${app.rate-limit.bucket-cache-size:100000}") long bucketCacheSize,
+            @Value("${app.rate-limit.bucket-idle-minutes:10}") long bucketIdleMinutes) {
+        this.proxyManager = proxyManager;
+        this.localTierParameters = new DelayParameters(maxUnsynchronizedTokens,
+                Duration.ofMillis(maxUnsynchronizedMs));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(bucketCacheSize)
+                .expireAfterAccess(Duration.ofMinutes(bucketIdleMinutes))
+                .build();
+    }
 
     /**
      * Rate limit configurations for different operations
      */
     public enum RateLimitType {
         // Parola sıfırlama: 3 istek/saat (abuse prevention)
-        PASSWORD_RESET(3, Duration.ofHours(1)),
+        PASSWORD_RESET(3, Duration.ofHours(1), false),
 
         // Email doğrulama yeniden gönderme: 5 istek/saat
-        EMAIL_VERIFICATION_RESEND(5, Duration.ofHours(1)),
+        EMAIL_VERIFICATION_RESEND(5, Duration.ofHours(1), false),
+
+        // E-posta değişikliği talebi: 5 istek/saat (doğrulama e-postası gönderir)
+        EMAIL_CHANGE_REQUEST(5, Duration.ofHours(1), false),
 
         // Profil güncelleme: 10 istek/saat
-        PROFILE_UPDATE(10, Duration.ofHours(1)),
+        PROFILE_UPDATE(10, Duration.ofHours(1), false),
 
-        // Genel endpoint: 100 istek/dakika
-        GENERAL(100, Duration.ofMinutes(1));
+        // Genel endpoint: 100 istek/dakika (her istekte tüketilir, yerel katmanda tutulur)
+        GENERAL(100, Duration.ofMinutes(1), true);
 
         private final int capacity;
         private final Duration refillDuration;
+        private final boolean localTier;
 
-        RateLimitType(int capacity, Duration refillDuration) {
+        RateLimitType(int capacity, Duration refillDuration, boolean localTier) {
             this.capacity = capacity;
             this.refillDuration = refillDuration;
+            this.localTier = localTier;
         }
     }
 
@@ -56,7 +87,7 @@ public class RateLimitingService {
      */
     public Bucket resolveBucket(String userId, RateLimitType type) {
         String key = "ratelimit:" + type.name().toLowerCase() + ":" + userId;
-        return proxyManager.builder().build(key, getConfigSupplier(type));
+        return buckets.get(key, k -> buildBucket(k, type));
     }
 
     /**
@@ -65,7 +96,15 @@ public class RateLimitingService {
     @Deprecated
     public Bucket resolveBucket(String key, boolean isAuthEndpoint) {
         RateLimitType type = isAuthEndpoint ? RateLimitType.GENERAL : RateLimitType.GENERAL;
-        return proxyManager.builder().build(key, getConfigSupplier(type));
+        return buckets.get(key, k -> buildBucket(k, type));
+    }
+
+    private Bucket buildBucket(String key, RateLimitType type) {
+        RemoteBucketBuilder<String> builder = proxyManager.builder();
+        if (type.localTier) {
+            builder = builder.withOptimization(Optimizations.delaying(localTierParameters));
+        }
+        return builder.build(key, getConfigSupplier(type));
     }
 
     private Supplier<BucketConfiguration> getConfigSupplier(RateLimitType type) {
@@ -0,0 +1,160 @@
+package com.cepsandik.userservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis'te tek bir sorted set olarak tutulan ve her replikada yerel olarak
+ * kopyalanan (üye -> skor) kümesi; token iptal servislerinin ortak altyapısı.
+ * <p>
+ * Bir kayıt {@code skor + retention} anına kadar geçerlidir: Redis'te bu andan
+ * sonra ZREMRANGEBYSCORE ile budanır, yerel kopyadan da aynı anda düşer. Yeni
+ * kayıtlar pub/sub ile yayılır; kaçan mesajlar periyodik senkronizasyonda tek
+ * bir ZRANGEBYSCORE ile yakalanır, keyspace taranmaz. Aynı üye tekrar
+ * yazılırsa büyük skor kalır.
+ * <p>
+ * Yerel kopyanın boyut sınırı yoktur: kontroller sadece bu kopyadan okunduğu için
+ * boyuttan dolayı atılan bir kayıt, iptal edilmiş token'ı yeniden geçerli kılardı.
+ * Boyut, kayıtların geçerlilik süresiyle (access token ömrü) sınırlıdır ve
+ * {@code token.revocation.local.entries} gauge'u ile izlenir.
+ */
+@Slf4j
+class ReplicatedExpiringSet {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+    private final String channel;
+    private final TimeUnit scoreUnit;
+    private final long retention;
+    // üye -> skor (scoreUnit cinsinden)
+    private final Cache<String, Long> local;
+
+    /**
+     * @param scoreUnit skorların (ve retention'ın) zaman birimi; skorlar epoch'tan itibaren bu birimdedir
+     * @param retention kaydın skordan sonra geçerli kalacağı süre
+     */
+    ReplicatedExpiringSet(StringRedisTemplate redisTemplate, String key, String channel,
+            TimeUnit scoreUnit, long retention, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.channel = channel;
+        this.scoreUnit = scoreUnit;
+        this.retention = retention;
+        this.local = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String member, Long score, long currentTime) {
+                        return remainingNanos(score);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String member, Long score, long currentTime,
+                            long currentDuration) {
+                        return remainingNanos(score);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String member, Long score, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        meterRegistry.gauge("token.revocation.local.entries", Tags.of("set", key), local, Cache::estimatedSize);
+    }
+
+    /**
+     * Kaydı yerel kopyaya ve Redis'e yazar, süresi dolanları budar ve diğer
+     * replikalara duyurur. Süresi zaten dolmuş kayıtlar yok sayılır.
+     *
+     * @return kayıt yazıldıysa true
+     */
+    boolean add(String member, long score) {
+        if (!remember(member, score)) {
+            return false;
+        }
+        redisTemplate.opsForZSet().add(key, member, score);
+        prune();
+        redisTemplate.convertAndSend(channel, member + ":" + score);
+        return true;
+    }
+
+    /**
+     * Üyenin skorunu döner (sadece yerel kopya)
+     */
+    Long get(String member) {
+        return local.getIfPresent(member);
+    }
+
+    /**
+     * Diğer replikalardan gelen kayıtları yerel kopyaya ekler
+     */
+    void onMessage(Message message) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Geçersiz revocation mesajı: {}", body);
+            return;
+        }
+        try {
+            remember(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Geçersiz revocation mesajı: {}", body);
+        }
+    }
+
+    /**
+     * Süresi dolanları budar ve geçerli kayıtların hepsini tek sorguda yerel kopyaya yükler
+     */
+    void resync() {
+        try {
+            prune();
+            Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(key, oldestValidScore(), Double.POSITIVE_INFINITY);
+            if (entries != null) {
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        remember(entry.getValue(), entry.getScore().longValue());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("{} senkronizasyonu başarısız: {}", key, e.getMessage());
+        }
+    }
+
+    private void prune() {
+        redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, oldestValidScore() - 1);
+    }
+
+    private boolean remember(String member, long score) {
+        if (remainingNanos(score) <= 0) {
+            return false;
+        }
+        local.asMap().merge(member, score, Math::max);
+        return true;
+    }
+
+    private long oldestValidScore() {
+        return now() - retention + 1;
+    }
+
+    private long remainingNanos(long score) {
+        return Math.max(scoreUnit.toNanos(score + retention - now()), 0);
+    }
+
+    private long now() {
+        return scoreUnit.convert(System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+}
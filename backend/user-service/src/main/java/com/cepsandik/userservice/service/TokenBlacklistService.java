@@ -1,62 +1,94 @@
 package com.cepsandik.userservice.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Token Blacklist Service - Redis kullanarak logout edilen token'ları geçersiz
- * kılar
+ * Token Blacklist Service - logout edilen access token'ları geçersiz kılar.
+ * <p>
+ * Kayıtlar Redis'te tek bir sorted set'te tutulur (üye = token id'si (jti),
+ * skor = token'ın expire anı) ve her replikada token süresi dolana kadar yerel
+ * olarak saklanır (bkz. {@link ReplicatedExpiringSet}). Böylece her istekteki
+ * kontrol JVM içinde kalır ve senkronizasyon keyspace'i taramaz.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class TokenBlacklistService {
+public class TokenBlacklistService implements MessageListener {
 
-    private final StringRedisTemplate redisTemplate;
+    public static final String REVOCATION_CHANNEL = "token:revocations";
+    private static final String BLACKLIST_KEY = "token:blacklist";
 
-    private static final String BLACKLIST_PREFIX = "token:blacklist:";
+    // token id -> token'ın expire anı (epoch saniye)
+    private final ReplicatedExpiringSet revokedTokenIds;
+
+    public TokenBlacklistService(StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.revokedTokenIds = new ReplicatedExpiringSet(redisTemplate, BLACKLIST_KEY, REVOCATION_CHANNEL,
+                TimeUnit.SECONDS, 0, meterRegistry);
+    }
 
     /**
      * Token'ı blacklist'e ekler
-     * 
-     * @param token             JWT token
-     * @param expirationSeconds Token'ın kalan expire süresi (saniye)
+     *
+     * @param tokenId   Token id'si (jti)
+     * @param expiresAt Token'ın expire anı (epoch saniye)
      */
-    public void blacklistToken(String token, long expirationSeconds) {
-        if (token == null || token.isEmpty()) {
+    public void blacklistToken(String tokenId, long expiresAt) {
+        if (tokenId == null || tokenId.isEmpty()) {
             return;
         }
-
-        String key = BLACKLIST_PREFIX + token;
-        // Token'ı Redis'e ekle, TTL = token'ın kalan expire süresi
-        redisTemplate.opsForValue().set(key, "blacklisted", Duration.ofSeconds(expirationSeconds));
-        log.info("Token blacklisted, expires in {} seconds", expirationSeconds);
+        if (revokedTokenIds.add(tokenId, expiresAt)) {
+            log.info("Token blacklisted, expires in {} seconds", calculateRemainingSeconds(expiresAt));
+        }
     }
 
     /**
-     * Token blacklist'te mi kontrol eder
-     * 
-     * @param token JWT token
+     * Token blacklist'te mi kontrol eder (sadece yerel set)
+     *
+     * @param tokenId Token id'si (jti)
      * @return true ise token geçersiz (blacklisted)
      */
-    public boolean isBlacklisted(String token) {
-        if (token == null || token.isEmpty()) {
+    public boolean isBlacklisted(String tokenId) {
+        if (tokenId == null || tokenId.isEmpty()) {
             return false;
         }
+        return revokedTokenIds.get(tokenId) != null;
+    }
 
-        String key = BLACKLIST_PREFIX + token;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    /**
+     * Diğer replikalardan gelen blacklist kayıtlarını yerel set'e ekler
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        revokedTokenIds.onMessage(message);
+    }
+
+    /**
+     * Yerel set'i Redis'teki kayıtlarla senkronize eder. Açılışta ve periyodik
+     * olarak çalışır; pub/sub bağlantısı koptuğunda kaçan kayıtları yakalar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.token-blacklist.resync-interval-ms:60000}",
+            initialDelayString = "${app.token-blacklist.resync-interval-ms:60000}")
+    public void resync() {
+        revokedTokenIds.resync();
     }
 
     /**
      * Token'ın kalan süresini hesaplar (saniye)
      */
     public long calculateRemainingSeconds(long expirationTimestamp) {
-        long now = System.currentTimeMillis() / 1000;
+        long now = Instant.now().getEpochSecond();
         long remaining = expirationTimestamp - now;
         return Math.max(remaining, 0);
     }
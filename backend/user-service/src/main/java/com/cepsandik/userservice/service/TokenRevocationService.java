@@ -0,0 +1,102 @@
+package com.cepsandik.userservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kullanıcı bazlı token iptal zamanı (revocation epoch) servisi.
+ * <p>
+ * "Bu kullanıcının T anına kadar üretilmiş tüm token'ları geçersizdir" bilgisi
+ * tek bir Redis sorted set'inde (üye = kullanıcı id'si, skor = iptal anı) tutulur
+ * ve access token'ın üretim anı ile karşılaştırılır. Tüm kullanıcılar için tek
+ * bir global epoch da desteklenir (olay müdahalesi). Kayıtlar her replikada
+ * yerel olarak kopyalanır (bkz. {@link ReplicatedExpiringSet}); istek başına
+ * kontrol JVM içinde kalır.
+ * <p>
+ * Karşılaştırma milisaniye çözünürlüğündedir: access token'lar {@code iatMs}
+ * claim'ini taşır, böylece çıkıştan hemen sonra (aynı saniyede) yapılan yeni
+ * giriş reddedilmez. Bu claim'i taşımayan eski token'larda saniye çözünürlüklü
+ * {@code iat} kullanılır; iptal ile aynı saniyede üretilmişlerse geçersiz sayılırlar.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "token:epoch-revocations";
+    private static final String EPOCH_KEY = "token:revoked-before";
+    private static final String ALL_USERS = "all";
+
+    // kullanıcı id'si (veya "all") -> iptal anı (epoch milisaniye)
+    private final ReplicatedExpiringSet revokedBefore;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate,
+            @Value("${app.jwt.access-ttl-seconds:900}") long accessTtlSeconds,
+            MeterRegistry meterRegistry) {
+        // Access TTL dolduktan sonra epoch'tan önce üretilmiş geçerli token kalmaz
+        long retentionMillis = Duration.ofSeconds(accessTtlSeconds + 60).toMillis();
+        this.revokedBefore = new ReplicatedExpiringSet(redisTemplate, EPOCH_KEY, REVOCATION_CHANNEL,
+                TimeUnit.MILLISECONDS, retentionMillis, meterRegistry);
+    }
+
+    /**
+     * Kullanıcının şu ana kadar üretilmiş tüm access token'larını geçersiz kılar
+     */
+    public void revokeAllTokens(UUID userId) {
+        revokedBefore.add(userId.toString(), System.currentTimeMillis());
+        log.info("Kullanıcının tüm token'ları iptal edildi: userId={}", userId);
+    }
+
+    /**
+     * Tüm kullanıcıların şu ana kadar üretilmiş access token'larını geçersiz kılar
+     */
+    public void revokeAllUsersTokens() {
+        revokedBefore.add(ALL_USERS, System.currentTimeMillis());
+        log.warn("Tüm kullanıcıların token'ları iptal edildi");
+    }
+
+    /**
+     * Token, kullanıcı veya global iptal anından önce mi üretilmiş kontrol eder
+     * (sadece yerel cache)
+     */
+    public boolean isRevoked(UUID userId, Instant issuedAt) {
+        long issued = issuedAt != null ? issuedAt.toEpochMilli() : Long.MIN_VALUE;
+        Long global = revokedBefore.get(ALL_USERS);
+        if (global != null && issued <= global) {
+            return true;
+        }
+        Long user = revokedBefore.get(userId.toString());
+        return user != null && issued <= user;
+    }
+
+    /**
+     * Diğer replikalardan gelen iptal kayıtlarını yerel cache'e ekler
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        revokedBefore.onMessage(message);
+    }
+
+    /**
+     * Yerel cache'i Redis'teki kayıtlarla senkronize eder. Açılışta ve periyodik
+     * olarak çalışır; pub/sub bağlantısı koptuğunda kaçan kayıtları yakalar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.token-revocation.resync-interval-ms:60000}",
+            initialDelayString = "${app.token-revocation.resync-interval-ms:60000}")
+    public void resync() {
+        revokedBefore.resync();
+    }
+}
@@ -5,8 +5,10 @@ import com.cepsandik.userservice.common.MessageConstants;
 import com.cepsandik.userservice.dtos.responses.TwoFactorSetupResponse;
 import com.cepsandik.userservice.exceptions.ApiException;
 import com.cepsandik.userservice.models.TwoFactorAuth;
+import com.cepsandik.userservice.models.TwoFactorBackupCode;
 import com.cepsandik.userservice.models.User;
 import com.cepsandik.userservice.repositories.TwoFactorAuthRepository;
+import com.cepsandik.userservice.repositories.TwoFactorBackupCodeRepository;
 import com.cepsandik.userservice.repositories.UserRepository;
 import dev.samstevens.totp.code.*;
 import dev.samstevens.totp.exceptions.QrGenerationException;
@@ -16,35 +18,97 @@ import dev.samstevens.totp.qr.ZxingPngQrGenerator;
 import dev.samstevens.totp.secret.DefaultSecretGenerator;
 import dev.samstevens.totp.secret.SecretGenerator;
 import dev.samstevens.totp.time.SystemTimeProvider;
-import dev.samstevens.totp.time.TimeProvider;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 /**
  * Two-Factor Authentication Service using TOTP
+ *
+ * Yedek kodlar ayrı tabloda, sunucu tarafı pepper ile HMAC-SHA256 özeti olarak
+ * tutulur. Doğrulama tek HMAC hesabı ve kullanıcının kullanılmamış kodlarıyla
+ * sabit zamanlı karşılaştırmadan ibarettir; BCrypt maliyeti yoktur. Pepper
+ * verilmezse JWT secret kullanılır; bu durumda JWT secret rotasyonu kayıtlı tüm
+ * yedek kodları geçersiz kılar.
+ *
+ * "2FA etkin mi" bilgisi users tablosundaki two_factor_enabled kolonunda da
+ * tutulur; login zaten kullanıcıyı yüklediği için ek sorgu gerekmez. Kolon
+ * enable/disable işlemlerinde güncellenir. Geçerli bir TOTP kodu, kabul edildiği
+ * zaman penceresi boyunca Redis'te işaretlenir ve ikinci kez kullanılamaz.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TwoFactorAuthService {
 
     private final TwoFactorAuthRepository twoFactorAuthRepository;
+    private final TwoFactorBackupCodeRepository backupCodeRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StringRedisTemplate redisTemplate;
+    private final SecretKeySpec backupCodePepper;
+    // Durumsuz ve thread-safe; her doğrulamada yeniden oluşturulmaz
+    private final CodeVerifier codeVerifier = new DefaultCodeVerifier(
+            new DefaultCodeGenerator(), new SystemTimeProvider());
 
     private static final String ISSUER = "CepSandik";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final int BACKUP_CODE_COUNT = 8;
     private static final int BACKUP_CODE_LENGTH = 8;
+    private static final String USED_CODE_PREFIX = "2fa:used:";
+    // Varsayılan doğrulayıcı önceki, mevcut ve sonraki 30 sn'lik pencereyi kabul eder
+    private static final Duration USED_CODE_TTL = Duration.ofSeconds(90);
+    private static final Pattern BACKUP_CODE_PATTERN = Pattern.compile("\\d{" + BACKUP_CODE_LENGTH + "}");
+
+    public TwoFactorAuthService(TwoFactorAuthRepository twoFactorAuthRepository,
+            TwoFactorBackupCodeRepository backupCodeRepository,
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            StringRedisTemplate redisTemplate,
+            @Value("${app.two-factor.backup-code-pepper:}") String backupCodePepper,
+            @Value("${app.jwt.secret}") String jwtSecret) {
+        this.twoFactorAuthRepository = twoFactorAuthRepository;
+        this.backupCodeRepository = backupCodeRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.redisTemplate = redisTemplate;
+        this.backupCodePepper = new SecretKeySpec(resolvePepper(backupCodePepper, jwtSecret)
+                .getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Boş pepper verilmemiş sayılır (compose tanımsız değişkeni boş string olarak geçirir)
+     * ve JWT secret kullanılır; ikisi de boşsa uygulama açılmaz.
+     */
+    private static String resolvePepper(String backupCodePepper, String jwtSecret) {
+        if (backupCodePepper != null && !backupCodePepper.isBlank()) {
+            return backupCodePepper;
+        }
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            throw new IllegalStateException(
+                    "app.two-factor.backup-code-pepper veya app.jwt.secret tanımlanmalıdır");
+        }
+        return jwtSecret;
+    }
 
     /**
      * Initiates 2FA setup - generates secret and QR code
@@ -67,20 +131,19 @@ public class TwoFactorAuthService {
 
         // Generate backup codes
         String[] backupCodes = generateBackupCodes();
-        String hashedBackupCodes = hashBackupCodes(backupCodes);
+        storeBackupCodes(user.getId(), backupCodes);
 
         // Create or update 2FA record
         TwoFactorAuth twoFactorAuth;
         if (existing.isPresent()) {
             twoFactorAuth = existing.get();
             twoFactorAuth.setSecretKey(secret);
-            twoFactorAuth.setBackupCodes(hashedBackupCodes);
+            twoFactorAuth.setBackupCodes(null);
             twoFactorAuth.setEnabled(false);
         } else {
             twoFactorAuth = TwoFactorAuth.builder()
                     .user(user)
                     .secretKey(secret)
-                    .backupCodes(hashedBackupCodes)
                     .enabled(false)
                     .build();
         }
@@ -111,13 +174,15 @@ public class TwoFactorAuthService {
         }
 
         // Verify code
-        if (!verifyCode(twoFactorAuth.getSecretKey(), code)) {
+        if (!verifyCode(user.getId(), twoFactorAuth.getSecretKey(), code)) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Geçersiz doğrulama kodu");
         }
 
         twoFactorAuth.setEnabled(true);
         twoFactorAuth.setVerifiedAt(LocalDateTime.now());
         twoFactorAuthRepository.save(twoFactorAuth);
+        user.setTwoFactorEnabled(true);
+        userRepository.save(user);
 
         log.info("2FA enabled: userId={}", user.getId());
     }
@@ -137,6 +202,9 @@ public class TwoFactorAuthService {
         }
 
         twoFactorAuthRepository.deleteByUserId(user.getId());
+        backupCodeRepository.deleteByUserId(user.getId());
+        user.setTwoFactorEnabled(false);
+        userRepository.save(user);
 
         log.info("2FA disabled: userId={}", user.getId());
     }
@@ -144,6 +212,7 @@ public class TwoFactorAuthService {
     /**
      * Verifies TOTP code during login
      */
+    @Transactional
     public boolean verifyTwoFactorCode(UUID userId, String code) {
         TwoFactorAuth twoFactorAuth = twoFactorAuthRepository.findByUserId(userId)
                 .orElse(null);
@@ -152,22 +221,16 @@ public class TwoFactorAuthService {
             return true; // 2FA not enabled, skip verification
         }
 
-        // Try TOTP code first
-        if (verifyCode(twoFactorAuth.getSecretKey(), code)) {
-            return true;
+        // Yedek kodlar 8 haneli, TOTP kodları 6 haneli; yanlış yazılmış bir TOTP kodu yedek kod olarak denenmez
+        if (code == null || !BACKUP_CODE_PATTERN.matcher(code).matches()) {
+            return verifyCode(userId, twoFactorAuth.getSecretKey(), code);
         }
 
-        // Try backup code
-        return verifyBackupCode(twoFactorAuth, code);
-    }
-
-    /**
-     * Checks if user has 2FA enabled
-     */
-    public boolean isTwoFactorEnabled(UUID userId) {
-        return twoFactorAuthRepository.findByUserId(userId)
-                .map(TwoFactorAuth::isEnabled)
-                .orElse(false);
+        // Eski kayıtlarda yedek kodlar hâlâ BCrypt ile two_factor_auth tablosunda durabilir
+        if (twoFactorAuth.getBackupCodes() != null && !twoFactorAuth.getBackupCodes().isEmpty()) {
+            return verifyLegacyBackupCode(twoFactorAuth, code);
+        }
+        return verifyBackupCode(userId, code);
     }
 
     /**
@@ -177,16 +240,23 @@ public class TwoFactorAuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
 
-        return isTwoFactorEnabled(user.getId());
+        return user.isTwoFactorEnabled();
     }
 
     // ========== Helper Methods ==========
 
-    private boolean verifyCode(String secret, String code) {
-        TimeProvider timeProvider = new SystemTimeProvider();
-        CodeGenerator codeGenerator = new DefaultCodeGenerator();
-        CodeVerifier verifier = new DefaultCodeVerifier(codeGenerator, timeProvider);
-        return verifier.isValidCode(secret, code);
+    private boolean verifyCode(UUID userId, String secret, String code) {
+        if (code == null || !codeVerifier.isValidCode(secret, code)) {
+            return false;
+        }
+        // Aynı pencere içinde ikinci kullanım: kod çalınmış/izlenmiş olabilir
+        Boolean firstUse = redisTemplate.opsForValue()
+                .setIfAbsent(USED_CODE_PREFIX + userId + ":" + code, "1", USED_CODE_TTL);
+        if (!Boolean.TRUE.equals(firstUse)) {
+            log.warn("TOTP kodu tekrar kullanılmaya çalışıldı: userId={}", userId);
+            return false;
+        }
+        return true;
     }
 
     private String generateQrCodeUri(String secret, String email) {
@@ -222,18 +292,50 @@ public class TwoFactorAuthService {
                 .toArray(String[]::new);
     }
 
-    private String hashBackupCodes(String[] codes) {
-        return String.join(",",
-                java.util.Arrays.stream(codes)
-                        .map(passwordEncoder::encode)
-                        .toArray(String[]::new));
+    private void storeBackupCodes(UUID userId, String[] codes) {
+        backupCodeRepository.deleteByUserId(userId);
+        backupCodeRepository.saveAll(Arrays.stream(codes)
+                .map(code -> TwoFactorBackupCode.builder()
+                        .userId(userId)
+                        .codeDigest(digestBackupCode(code))
+                        .build())
+                .toList());
     }
 
-    private boolean verifyBackupCode(TwoFactorAuth twoFactorAuth, String code) {
-        if (twoFactorAuth.getBackupCodes() == null || twoFactorAuth.getBackupCodes().isEmpty()) {
+    /**
+     * Kodu kullanıcının kullanılmamış kodlarıyla sabit zamanlı karşılaştırır,
+     * eşleşeni koşullu UPDATE ile tek seferlik olarak işaretler
+     */
+    private boolean verifyBackupCode(UUID userId, String code) {
+        byte[] digest = digestBackupCode(code).getBytes(StandardCharsets.US_ASCII);
+        List<TwoFactorBackupCode> unused = backupCodeRepository.findByUserIdAndUsedAtIsNull(userId);
+
+        TwoFactorBackupCode match = null;
+        for (TwoFactorBackupCode candidate : unused) {
+            // Erken çıkış yok: eşleşmenin sırası süreye yansımasın
+            if (MessageDigest.isEqual(digest, candidate.getCodeDigest().getBytes(StandardCharsets.US_ASCII))) {
+                match = candidate;
+            }
+        }
+
+        if (match == null || backupCodeRepository.markUsed(match.getId(), LocalDateTime.now()) == 0) {
             return false;
         }
+        log.info("Backup code used: userId={}", userId);
+        return true;
+    }
+
+    String digestBackupCode(String code) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(backupCodePepper);
+            return HexFormat.of().formatHex(mac.doFinal(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Yedek kod özeti hesaplanamadı", e);
+        }
+    }
 
+    private boolean verifyLegacyBackupCode(TwoFactorAuth twoFactorAuth, String code) {
         String[] hashedCodes = twoFactorAuth.getBackupCodes().split(",");
         for (int i = 0; i < hashedCodes.length; i++) {
             if (passwordEncoder.matches(code, hashedCodes[i])) {
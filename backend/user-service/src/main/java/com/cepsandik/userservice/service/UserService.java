@@ -1,6 +1,7 @@
 package com.cepsandik.userservice.service;
 
 import com.cepsandik.userservice.annotations.LogAudit;
+import com.cepsandik.userservice.annotations.RateLimited;
 import com.cepsandik.userservice.common.MessageConstants;
 import com.cepsandik.userservice.dtos.requests.EmailChangeRequest;
 import com.cepsandik.userservice.dtos.requests.PasswordChangeRequest;
@@ -12,6 +13,7 @@ import com.cepsandik.userservice.models.EmailChangeToken;
 import com.cepsandik.userservice.repositories.EmailChangeTokenRepository;
 import com.cepsandik.userservice.repositories.RefreshTokenRepository;
 import com.cepsandik.userservice.repositories.UserRepository;
+import com.cepsandik.userservice.service.RateLimitingService.RateLimitType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +33,7 @@ public class UserService {
     private final EmailChangeTokenRepository emailChangeTokenRepository;
     private final EmailService emailService;
     private final FileUploadService fileUploadService;
+    private final TokenRevocationService tokenRevocationService;
 
     @LogAudit(action = "PROFILE VIEWING")
     public UserResponse me(String email) {
@@ -40,6 +43,7 @@ public class UserService {
     }
 
     @LogAudit(action = "PROFILE UPDATE")
+    @RateLimited(type = RateLimitType.PROFILE_UPDATE, key = "#email")
     public UserResponse updateMe(String email, UpdateProfileRequest req) {
         var user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
@@ -69,10 +73,9 @@ public class UserService {
     public void deleteMe(String email) {
         var user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
-        var userTokens = refreshTokenRepository.findByUserId(user.getId());
-        if (!userTokens.isEmpty()) {
-            refreshTokenRepository.deleteAll(userTokens);
-        }
+        // Önce token'lar iptal edilir: Redis hatasında hesap silinmeden işlem durur
+        tokenRevocationService.revokeAllTokens(user.getId());
+        refreshTokenRepository.deleteByUserId(user.getId());
         userRepo.delete(user);
     }
 
@@ -84,10 +87,9 @@ public class UserService {
         var user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
 
-        var tokens = refreshTokenRepository.findByUserId(user.getId());
-        if (tokens != null && !tokens.isEmpty()) {
-            refreshTokenRepository.deleteAll(tokens);
-        }
+        refreshTokenRepository.deleteByUserId(user.getId());
+        // Verilmiş access token'lar da geçersiz
+        tokenRevocationService.revokeAllTokens(user.getId());
     }
 
     /**
@@ -96,6 +98,7 @@ public class UserService {
      */
     @Transactional
     @LogAudit(action = "EMAIL CHANGE REQUEST")
+    @RateLimited(type = RateLimitType.EMAIL_CHANGE_REQUEST, key = "#currentEmail")
     public void requestEmailChange(String currentEmail, EmailChangeRequest req) {
         var user = userRepo.findByEmail(currentEmail)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
@@ -172,6 +175,7 @@ public class UserService {
      * Profil resmini günceller
      */
     @LogAudit(action = "PROFILE IMAGE UPDATE")
+    @RateLimited(type = RateLimitType.PROFILE_UPDATE, key = "#email")
     public UserResponse updateProfileImage(String email, String imageUrl) {
         var user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
@@ -185,6 +189,7 @@ public class UserService {
      * Profil resmini siler
      */
     @LogAudit(action = "PROFILE IMAGE DELETE")
+    @RateLimited(type = RateLimitType.PROFILE_UPDATE, key = "#email")
     public UserResponse deleteProfileImage(String email) {
         var user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, MessageConstants.USER_NOT_FOUND));
@@ -0,0 +1,3 @@
+-- Birleştirilen (coalesced) audit olayları: tek satırda olay sayısı ve zaman penceresi
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS occurrence_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS window_end TIMESTAMP;
@@ -0,0 +1,54 @@
+-- audit_logs tablosunu timestamp üzerinden aylık range partition'lara böler.
+-- Yeni partition'lar ve retention AuditPartitionMaintenanceTask tarafından yönetilir.
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+-- PK index adı yeni tabloyla çakışmasın
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+
+-- Partition anahtarı PK'ya dahil olmak zorunda
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    user_id UUID,
+    action VARCHAR(100) NOT NULL,
+    details TEXT,
+    ip_address VARCHAR(45),
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    occurrence_count INTEGER NOT NULL DEFAULT 1,
+    window_end TIMESTAMP,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Sequence eski tabloyla birlikte silinmesin
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Mevcut verinin ilk ayından itibaren önümüzdeki 3 ay dahil aylık partition'lar
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(timestamp), CURRENT_TIMESTAMP))::date
+    INTO month_start
+    FROM audit_logs_legacy;
+    last_month := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::date;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Aralık dışı kayıtlar için güvenlik ağı; normalde boş kalır
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+INSERT INTO audit_logs (id, user_id, action, details, ip_address, timestamp, occurrence_count, window_end)
+SELECT id, user_id, action, details, ip_address, timestamp, occurrence_count, window_end
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_id ON audit_logs(user_id, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp ON audit_logs(timestamp DESC);
@@ -0,0 +1,7 @@
+-- Keyset sayfalama (timestamp, id) sırasıyla ilerler; eşit timestamp'lerde
+-- sıralamanın kararlı kalması ve sort adımı gerekmemesi için id indekse eklenir.
+DROP INDEX IF EXISTS idx_audit_logs_user_id;
+DROP INDEX IF EXISTS idx_audit_logs_timestamp;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_id ON audit_logs(user_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp ON audit_logs(timestamp DESC, id DESC);
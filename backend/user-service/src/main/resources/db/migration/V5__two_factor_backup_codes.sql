@@ -0,0 +1,13 @@
+-- 2FA yedek kodları: her kod ayrı satırda, sunucu tarafı pepper ile HMAC-SHA256 özeti olarak
+CREATE TABLE IF NOT EXISTS two_factor_backup_codes (
+    id BIGSERIAL PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    code_digest VARCHAR(64) NOT NULL,
+    used_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_two_factor_backup_codes_user_digest UNIQUE (user_id, code_digest)
+);
+
+-- Kullanılmamış kodlar kullanıcı bazında okunur
+CREATE INDEX IF NOT EXISTS idx_two_factor_backup_codes_unused
+    ON two_factor_backup_codes(user_id) WHERE used_at IS NULL;
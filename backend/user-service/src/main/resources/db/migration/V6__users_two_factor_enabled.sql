@@ -0,0 +1,7 @@
+-- Login akışında 2FA durumunu ek sorgu olmadan okuyabilmek için kullanıcı satırına taşınır
+ALTER TABLE users ADD COLUMN IF NOT EXISTS two_factor_enabled BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE users u
+SET two_factor_enabled = TRUE
+FROM two_factor_auth t
+WHERE t.user_id = u.id AND t.enabled = TRUE;
@@ -0,0 +1,98 @@
+package com.cepsandik.userservice.aspects;
+
+import com.cepsandik.userservice.annotations.RateLimited;
+import com.cepsandik.userservice.exceptions.RetryLaterException;
+import com.cepsandik.userservice.security.ClientInfoResolver;
+import com.cepsandik.userservice.service.AuditService;
+import com.cepsandik.userservice.service.RateLimitingService;
+import com.cepsandik.userservice.service.RateLimitingService.RateLimitType;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitingAspect Unit Tests")
+class RateLimitingAspectTest {
+
+    @Mock
+    private RateLimitingService rateLimitingService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ClientInfoResolver clientInfoResolver;
+
+    @Mock
+    private Bucket bucket;
+
+    private SampleService proxy;
+    private SampleService target;
+
+    static class SampleService {
+        int calls;
+
+        @RateLimited(type = RateLimitType.PASSWORD_RESET, key = "#email")
+        public void requestReset(String email) {
+            calls++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        target = new SampleService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new RateLimitingAspect(rateLimitingService, auditService, clientInfoResolver));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Limit içindeki çağrı SpEL anahtarının küçük harfli haliyle tüketip metodu çalıştırmalı")
+    void shouldConsumeByResolvedKey() {
+        // Given
+        when(rateLimitingService.resolveBucket("user@example.com", RateLimitType.PASSWORD_RESET)).thenReturn(bucket);
+        when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.consumed(2, 0));
+
+        // When
+        proxy.requestReset("User@Example.com");
+
+        // Then
+        assertThat(target.calls).isEqualTo(1);
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    @DisplayName("Limit aşıldığında metot çalışmamalı ve Retry-After süresiyle 429 dönmeli")
+    void shouldRejectWhenLimitExceeded() {
+        // Given
+        when(rateLimitingService.resolveBucket(anyString(), eq(RateLimitType.PASSWORD_RESET))).thenReturn(bucket);
+        when(bucket.tryConsumeAndReturnRemaining(1))
+                .thenReturn(ConsumptionProbe.rejected(0, TimeUnit.SECONDS.toNanos(90), 0));
+        when(clientInfoResolver.getClientIp()).thenReturn("1.2.3.4");
+
+        // When & Then
+        assertThatThrownBy(() -> proxy.requestReset("user@example.com"))
+                .isInstanceOf(RetryLaterException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.TOO_MANY_REQUESTS)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 90L);
+        assertThat(target.calls).isZero();
+        verify(auditService).log(any(), eq("RATE_LIMIT_EXCEEDED"), eq("PASSWORD_RESET"), eq("1.2.3.4"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.cepsandik.userservice.repositories;
+
+import com.cepsandik.userservice.models.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditLogRepository PostgreSQL Tests")
+class AuditLogRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime FIRST_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private void insert(long id, UUID owner, String action, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO audit_logs (id, user_id, action, timestamp) VALUES (?, ?, ?, ?)",
+                id, owner, action, Timestamp.valueOf(timestamp));
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Aynı timestamp'e sahip kayıtlar sayfa sınırına denk gelecek şekilde
+        insert(1, userId, "LOGIN_SUCCESS", now.minusMinutes(2));
+        insert(2, userId, "LOGIN_FAILED", now.minusMinutes(1));
+        insert(3, userId, "LOGIN_SUCCESS", now.minusMinutes(1));
+        insert(4, UUID.randomUUID(), "LOGIN_SUCCESS", now.minusMinutes(1));
+        insert(5, userId, "PASSWORD_CHANGED", now);
+    }
+
+    private List<Long> ids(List<AuditLog> page) {
+        return page.stream().map(AuditLog::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Sayfalar (timestamp, id) azalan sırada, eşit timestamp'lerde atlama veya tekrar olmadan ilerlemeli")
+    void shouldPageThroughEqualTimestampsWithoutGapsOrDuplicates() {
+        // Given
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime cursorTimestamp = FIRST_TIMESTAMP;
+        long cursorId = Long.MAX_VALUE;
+
+        // When
+        List<AuditLog> page;
+        do {
+            page = auditLogRepository.findPageBefore(cursorTimestamp, cursorId, 2);
+            seen.addAll(ids(page));
+            if (!page.isEmpty()) {
+                AuditLog last = page.get(page.size() - 1);
+                cursorTimestamp = last.getTimestamp();
+                cursorId = last.getId();
+            }
+        } while (page.size() == 2);
+
+        // Then
+        assertThat(seen).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Kullanıcı, action ve tarih aralığı filtreleri cursor ile birlikte uygulanmalı")
+    void shouldApplyFiltersAfterCursor() {
+        // When & Then
+        assertThat(ids(auditLogRepository.findPageByUserIdBefore(userId, now.minusMinutes(1), 4L, 10)))
+                .containsExactly(3L, 2L, 1L);
+        assertThat(ids(auditLogRepository.findPageByActionContainingBefore("login_s", FIRST_TIMESTAMP,
+                Long.MAX_VALUE, 10)))
+                .containsExactly(4L, 3L, 1L);
+        assertThat(ids(auditLogRepository.findPageByTimestampRangeBefore(now.minusMinutes(1), now,
+                FIRST_TIMESTAMP, Long.MAX_VALUE, 10)))
+                .containsExactly(4L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Kullanıcı sorgusu index üzerinden okunmalı, sort adımı olmamalı")
+    void shouldUseIndexWithoutSort() {
+        // Given
+        // Küçük tabloda planlayıcı seq scan seçmesin
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("ANALYZE audit_logs");
+
+        // When
+        List<String> plan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT * FROM audit_logs
+                WHERE (timestamp, id) < (?, ?)
+                  AND user_id = ?
+                ORDER BY timestamp DESC, id DESC
+                LIMIT 50
+                """, String.class, Timestamp.valueOf(now), 10L, userId);
+
+        // Then
+        assertThat(plan).anyMatch(line -> line.contains("Index Scan"));
+        assertThat(plan).noneMatch(line -> line.matches("\\s*(->\\s*)?Sort\\s+\\(.*"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.cepsandik.userservice.repositories;
+
+import com.redis.testcontainers.RedisContainer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lua script'leri gerçek Redis üzerinde test edilir; Docker yoksa testler atlanır.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RefreshTokenRepository Redis Tests")
+class RefreshTokenRepositoryRedisTest {
+
+    @Container
+    static final RedisContainer REDIS = new RedisContainer(DockerImageName.parse("redis:7-alpine"));
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RefreshTokenRepository repository;
+    private UUID userId;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getFirstMappedPort());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        repository = new RefreshTokenRepository(redisTemplate, 30, 3);
+        userId = UUID.randomUUID();
+    }
+
+    private String userKey() {
+        return RefreshTokenRepository.userKey(userId);
+    }
+
+    private boolean stored(String token) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(
+                RefreshTokenRepository.tokenPrefix(userId) + RefreshTokenRepository.hash(token)));
+    }
+
+    @Test
+    @DisplayName("Üst sınır aşılınca en eski token'lar ZPOPMIN ile set'ten ve anahtarlarıyla birlikte silinmeli")
+    void shouldEvictOldestTokensBeyondLimit() throws InterruptedException {
+        // Given
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(repository.issue(userId));
+            Thread.sleep(2);
+        }
+
+        // When
+        Long size = redisTemplate.opsForZSet().zCard(userKey());
+
+        // Then
+        assertThat(size).isEqualTo(3);
+        assertThat(stored(tokens.get(0))).isFalse();
+        assertThat(stored(tokens.get(1))).isFalse();
+        assertThat(tokens.subList(2, 5)).allMatch(this::stored);
+        assertThat(repository.rotate(tokens.get(0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Süresi dolmuş hash'ler sonraki yazmada set'ten budanmalı")
+    void shouldPruneExpiredHashesOnIssue() {
+        // Given
+        long expiredScore = System.currentTimeMillis() - 31L * 24 * 60 * 60 * 1000;
+        redisTemplate.opsForZSet().add(userKey(), "expired-hash", expiredScore);
+
+        // When
+        repository.issue(userId);
+
+        // Then
+        assertThat(redisTemplate.opsForZSet().score(userKey(), "expired-hash")).isNull();
+        assertThat(redisTemplate.opsForZSet().zCard(userKey())).isEqualTo(1);
+        assertThat(redisTemplate.getExpire(userKey())).isPositive();
+    }
+
+    @Test
+    @DisplayName("Token tek kullanımlık olmalı; eşzamanlı yenilemelerden yalnızca biri başarılı olmalı")
+    void shouldRotateTokenOnlyOnce() throws Exception {
+        // Given
+        String token = repository.issue(userId);
+        int attempts = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        List<Callable<Optional<RefreshTokenRepository.Rotation>>> rotations = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            rotations.add(() -> repository.rotate(token));
+        }
+
+        // When
+        List<Optional<RefreshTokenRepository.Rotation>> results = new ArrayList<>();
+        try {
+            for (Future<Optional<RefreshTokenRepository.Rotation>> future : executor.invokeAll(rotations)) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        List<RefreshTokenRepository.Rotation> successful = results.stream().flatMap(Optional::stream).toList();
+        assertThat(successful).hasSize(1);
+        assertThat(successful.get(0).userId()).isEqualTo(userId);
+        assertThat(stored(token)).isFalse();
+        assertThat(stored(successful.get(0).refreshToken())).isTrue();
+        assertThat(redisTemplate.opsForZSet().zCard(userKey())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Kullanıcının tüm token'ları ve set'i silinmeli")
+    void shouldDeleteAllTokensOfUser() {
+        // Given
+        String first = repository.issue(userId);
+        String second = repository.issue(userId);
+
+        // When
+        repository.deleteByUserId(userId);
+
+        // Then
+        assertThat(stored(first)).isFalse();
+        assertThat(stored(second)).isFalse();
+        assertThat(redisTemplate.hasKey(userKey())).isFalse();
+    }
+}
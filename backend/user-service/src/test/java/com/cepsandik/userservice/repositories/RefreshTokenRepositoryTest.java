@@ -0,0 +1,106 @@
+package com.cepsandik.userservice.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenRepository Unit Tests")
+class RefreshTokenRepositoryTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RefreshTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RefreshTokenRepository(redisTemplate, 30, 10);
+    }
+
+    @Test
+    @DisplayName("Token Redis'e ham haliyle değil SHA-256 hash'i ile, kullanıcının hash tag'i altında yazılmalı")
+    @SuppressWarnings("unchecked")
+    void shouldStoreOnlyTokenHash() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+
+        // When
+        String token = repository.issue(userId);
+
+        // Then
+        String hash = RefreshTokenRepository.hash(token);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), eq(hash), eq(userId.toString()),
+                anyString(), eq(String.valueOf(30L * 24 * 60 * 60 * 1000)), eq("10"),
+                eq("rt:{" + userId + "}:"));
+        assertThat(keys.getValue()).containsExactly("rt:{" + userId + "}:" + hash, "rt:user:{" + userId + "}");
+        assertThat(keys.getValue()).noneMatch(key -> key.contains(token));
+        assertThat(RefreshTokenRepository.ownerOf(token)).contains(userId);
+    }
+
+    @Test
+    @DisplayName("Yenileme script'ine eski token, kullanıcı set'i ve yeni token anahtarları bildirilmeli")
+    @SuppressWarnings("unchecked")
+    void shouldDeclareAllKeysWhenRotating() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        String token = userId + ".secret";
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        when(redisTemplate.execute(any(RedisScript.class), keys.capture(), any(Object[].class))).thenReturn(1L);
+
+        // When
+        Optional<RefreshTokenRepository.Rotation> rotation = repository.rotate(token);
+
+        // Then
+        assertThat(rotation).isPresent();
+        assertThat(rotation.get().userId()).isEqualTo(userId);
+        String newHash = RefreshTokenRepository.hash(rotation.get().refreshToken());
+        assertThat(keys.getValue()).containsExactly(
+                "rt:{" + userId + "}:" + RefreshTokenRepository.hash(token),
+                "rt:user:{" + userId + "}",
+                "rt:{" + userId + "}:" + newHash);
+    }
+
+    @Test
+    @DisplayName("Bilinmeyen veya kullanılmış token ile yenileme boş dönmeli")
+    @SuppressWarnings("unchecked")
+    void shouldReturnEmptyWhenRotatingUnknownToken() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(Object[].class))).thenReturn(0L);
+
+        // When
+        Optional<RefreshTokenRepository.Rotation> rotation = repository.rotate(UUID.randomUUID() + ".unknown");
+
+        // Then
+        assertThat(rotation).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Biçimi bozuk token Redis'e gitmeden reddedilmeli")
+    void shouldRejectMalformedTokenWithoutRedisCall() {
+        // When
+        Optional<RefreshTokenRepository.Rotation> rotation = repository.rotate("bozuk-token");
+        repository.delete("bozuk.token");
+
+        // Then
+        assertThat(rotation).isEmpty();
+        verifyNoInteractions(redisTemplate);
+    }
+}
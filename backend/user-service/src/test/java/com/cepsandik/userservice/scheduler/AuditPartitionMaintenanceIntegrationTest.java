@@ -0,0 +1,52 @@
+package com.cepsandik.userservice.scheduler;
+
+import com.cepsandik.userservice.repositories.PostgresRepositoryTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditPartitionMaintenanceTask PostgreSQL Tests")
+class AuditPartitionMaintenanceIntegrationTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    @Test
+    @DisplayName("Default partition'da aynı aralıkta kayıt varken partition oluşturulabilmeli ve kayıtlar taşınmalı")
+    void shouldMoveConflictingDefaultRowsIntoNewPartition() {
+        // Given
+        // Migration önümüzdeki 3 ayı açar; 5 ay sonrasına düşen kayıt default partition'a gider
+        YearMonth farMonth = YearMonth.now().plusMonths(5);
+        jdbcTemplate.update("INSERT INTO audit_logs (action, timestamp) VALUES ('TEST', ?)",
+                Timestamp.valueOf(farMonth.atDay(10).atStartOfDay()));
+        assertThat(count(AuditPartitionMaintenanceTask.DEFAULT_PARTITION)).isEqualTo(1);
+        AuditPartitionMaintenanceTask task = new AuditPartitionMaintenanceTask(jdbcTemplate, 5, 0,
+                AuditPartitionMaintenanceTask.RetentionAction.DETACH);
+
+        // When
+        task.maintainPartitions();
+        task.maintainPartitions();
+
+        // Then
+        String partition = AuditPartitionMaintenanceTask.partitionName(farMonth);
+        assertThat(count(partition)).isEqualTo(1);
+        assertThat(count(AuditPartitionMaintenanceTask.DEFAULT_PARTITION)).isZero();
+        assertThat(count("audit_logs")).isEqualTo(1);
+        Boolean attached = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM pg_inherits i
+                               JOIN pg_class c ON c.oid = i.inhrelid
+                               WHERE c.relname = ? AND i.inhparent = 'audit_logs'::regclass)
+                """, Boolean.class, partition);
+        assertThat(attached).isTrue();
+    }
+}
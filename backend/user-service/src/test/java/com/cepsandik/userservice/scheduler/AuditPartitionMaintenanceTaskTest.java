@@ -0,0 +1,118 @@
+package com.cepsandik.userservice.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditPartitionMaintenanceTask Unit Tests")
+class AuditPartitionMaintenanceTaskTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private void lockAcquired(boolean acquired) {
+        when(jdbcTemplate.queryForObject(contains("pg_try_advisory_xact_lock"), eq(Boolean.class), anyLong()))
+                .thenReturn(acquired);
+    }
+
+    private void partitionsExist(boolean exist) {
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), anyString()))
+                .thenReturn(exist);
+    }
+
+    @Test
+    @DisplayName("Bu ay ve önümüzdeki aylar için partition oluşturulmalı")
+    void shouldCreateUpcomingPartitions() {
+        // Given
+        AuditPartitionMaintenanceTask task = new AuditPartitionMaintenanceTask(jdbcTemplate, 2, 0,
+                AuditPartitionMaintenanceTask.RetentionAction.DETACH);
+        lockAcquired(true);
+        partitionsExist(false);
+        YearMonth now = YearMonth.now();
+
+        // When
+        task.maintainPartitions();
+
+        // Then
+        for (int i = 0; i <= 2; i++) {
+            String name = AuditPartitionMaintenanceTask.partitionName(now.plusMonths(i));
+            verify(jdbcTemplate).execute("CREATE TABLE " + name + " (LIKE audit_logs INCLUDING DEFAULTS)");
+            verify(jdbcTemplate).update(and(startsWith("WITH moved AS (DELETE FROM audit_logs_default"),
+                    endsWith("INSERT INTO " + name + " SELECT * FROM moved")));
+            verify(jdbcTemplate).execute(startsWith("ALTER TABLE audit_logs ATTACH PARTITION " + name + " FOR VALUES"));
+        }
+    }
+
+    @Test
+    @DisplayName("Var olan partition tekrar oluşturulmamalı")
+    void shouldSkipExistingPartitions() {
+        // Given
+        AuditPartitionMaintenanceTask task = new AuditPartitionMaintenanceTask(jdbcTemplate, 3, 0,
+                AuditPartitionMaintenanceTask.RetentionAction.DETACH);
+        lockAcquired(true);
+        partitionsExist(true);
+
+        // When
+        task.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    @Test
+    @DisplayName("Retention süresini aşan partition ayrılmalı, default partition'a dokunulmamalı")
+    void shouldDetachExpiredPartitions() {
+        // Given
+        AuditPartitionMaintenanceTask task = new AuditPartitionMaintenanceTask(jdbcTemplate, 0, 6,
+                AuditPartitionMaintenanceTask.RetentionAction.DETACH);
+        lockAcquired(true);
+        partitionsExist(true);
+        String expired = AuditPartitionMaintenanceTask.partitionName(YearMonth.now().minusMonths(7));
+        String kept = AuditPartitionMaintenanceTask.partitionName(YearMonth.now().minusMonths(6));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of(expired, kept, "audit_logs_default"));
+
+        // When
+        task.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION " + expired);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE audit_logs DETACH PARTITION " + kept);
+        verify(jdbcTemplate, never()).execute(contains("audit_logs_default"));
+    }
+
+    @Test
+    @DisplayName("Kilit başka replikadaysa hiçbir DDL çalıştırılmamalı")
+    void shouldSkipWhenLockHeldElsewhere() {
+        // Given
+        AuditPartitionMaintenanceTask task = new AuditPartitionMaintenanceTask(jdbcTemplate, 3, 12,
+                AuditPartitionMaintenanceTask.RetentionAction.DROP);
+        lockAcquired(false);
+
+        // When
+        task.maintainPartitions();
+
+        // Then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Partition adından ay çözülmeli")
+    void shouldParsePartitionMonth() {
+        assertThat(AuditPartitionMaintenanceTask.parseMonth("audit_logs_2025_03")).contains(YearMonth.of(2025, 3));
+        assertThat(AuditPartitionMaintenanceTask.parseMonth("audit_logs_default")).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.exceptions.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BulkheadPasswordEncoder Unit Tests")
+class BulkheadPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkheadPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Hash ve doğrulama havuzda çalışmalı, süreler ölçülmeli")
+    void shouldEncodeAndMatchThroughPool() {
+        // Given
+        encoder = new BulkheadPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, 1);
+
+        // When
+        String hash = encoder.encode("Password123!");
+
+        // Then
+        assertThat(encoder.matches("Password123!", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Kuyruk doluysa beklemeden 503 ve Retry-After dönmeli")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        encoder = new BulkheadPasswordEncoder(blocking, meterRegistry, 1, 1, 3);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // When/Then
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(RetryLaterException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.SERVICE_UNAVAILABLE)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 3L);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Eski algoritma ya da maliyetle üretilmiş hash yükseltme gerektirmeli")
+    void shouldRequireUpgradeForOutdatedEncoding() {
+        // Given
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(5);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = new BulkheadPasswordEncoder(delegating, meterRegistry, 1, 1, 1);
+
+        String legacy = new BCryptPasswordEncoder(5).encode("Password123!");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Password123!");
+
+        // When/Then
+        assertThat(encoder.matches("Password123!", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("Password123!"))).isFalse();
+    }
+}
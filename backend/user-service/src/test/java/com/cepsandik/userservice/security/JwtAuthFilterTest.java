@@ -0,0 +1,160 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.models.PlatformRole;
+import com.cepsandik.userservice.models.User;
+import com.cepsandik.userservice.repositories.UserRepository;
+import com.cepsandik.userservice.service.TokenBlacklistService;
+import com.cepsandik.userservice.service.TokenRevocationService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthFilter Unit Tests")
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private FilterChain chain;
+
+    private JwtService jwtService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 900);
+        testUser = User.builder()
+                .id(UUID.randomUUID())
+                .firstName("Test")
+                .lastName("User")
+                .email("test@example.com")
+                .passwordHash("hashedPassword")
+                .platformRole(PlatformRole.ADMIN)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Principal token claim'lerinden veritabanına gitmeden oluşturulmalı")
+    void shouldBuildPrincipalFromClaimsWithoutDatabaseLookup() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userRepository, tokenBlacklistService, tokenRevocationService, true);
+        Map<String, Object> tokenData = jwtService.generateAccessTokenWithClaims(testUser);
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false);
+
+        // When
+        filter.doFilter(requestWithToken((String) tokenData.get("token")), new MockHttpServletResponse(), chain);
+
+        // Then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isEqualTo(
+                new AuthenticatedUser(testUser.getId(), "test@example.com", PlatformRole.ADMIN));
+        verifyNoInteractions(userRepository);
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("2FA geçici token'ı ile kimlik doğrulanmamalı")
+    void shouldRejectTempToken() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userRepository, tokenBlacklistService, tokenRevocationService, true);
+        String tempToken = jwtService.generateTempToken(testUser);
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false);
+
+        // When
+        filter.doFilter(requestWithToken(tempToken), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Blacklist'teki token ile kimlik doğrulanmamalı")
+    void shouldSkipBlacklistedToken() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userRepository, tokenBlacklistService, tokenRevocationService, true);
+        Map<String, Object> tokenData = jwtService.generateAccessTokenWithClaims(testUser);
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(true);
+
+        // When
+        filter.doFilter(requestWithToken((String) tokenData.get("token")), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("İptal zamanından önce üretilmiş token ile kimlik doğrulanmamalı")
+    void shouldSkipTokenIssuedBeforeRevocationEpoch() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userRepository, tokenBlacklistService, tokenRevocationService, true);
+        Map<String, Object> tokenData = jwtService.generateAccessTokenWithClaims(testUser);
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false);
+        when(tokenRevocationService.isRevoked(eq(testUser.getId()), any())).thenReturn(true);
+
+        // When
+        filter.doFilter(requestWithToken((String) tokenData.get("token")), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Veritabanı modunda silinmiş kullanıcı ile kimlik doğrulanmamalı")
+    void shouldRejectMissingUserInDatabaseMode() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, userRepository, tokenBlacklistService, tokenRevocationService, false);
+        Map<String, Object> tokenData = jwtService.generateAccessTokenWithClaims(testUser);
+        when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+
+        // When
+        filter.doFilter(requestWithToken((String) tokenData.get("token")), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
@@ -0,0 +1,107 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.models.PlatformRole;
+import com.cepsandik.userservice.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService imzalama/doğrulama throughput karşılaştırması.
+ * <p>
+ * {@code legacy*} metotları eski davranışı (her çağrıda {@code Keys.hmacShaKeyFor}
+ * ve yeni parser) birebir taklit eder, diğerleri önceden kurulmuş anahtar ve parser'ı kullanır.
+ * Claim'ler, jti ve parse sayısı iki tarafta aynıdır; tek fark anahtar/parser kurulumudur.
+ * <p>
+ * Çalıştırma:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      com.cepsandik.userservice.security.JwtServiceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    private static final String ISSUER = "https://api.cepsandik.com";
+
+    private final byte[] rawKey = SECRET.getBytes(StandardCharsets.UTF_8);
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 900);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("bench@example.com")
+                .platformRole(PlatformRole.USER)
+                .build();
+        accessToken = (String) jwtService.generateAccessTokenWithClaims(user).get("token");
+    }
+
+    @Benchmark
+    public Object sign() {
+        return jwtService.generateAccessTokenWithClaims(user);
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtService.verify(accessToken);
+    }
+
+    @Benchmark
+    public Object legacySign() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(ISSUER)
+                .subject(user.getId().toString())
+                .audience().add("web-app").add("mobile-app")
+                .and()
+                .claim("email", user.getEmail())
+                .claim("platformRole", user.getPlatformRole().name())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(900)))
+                .signWith(Keys.hmacShaKeyFor(rawKey), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * Eski doğrulama: her çağrıda anahtar türetilir ve parser yeniden kurulur,
+     * token {@link #verify()} ile aynı şekilde tek kez parse edilir
+     */
+    @Benchmark
+    public Object legacyVerify() {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(rawKey))
+                .requireIssuer(ISSUER)
+                .build()
+                .parseSignedClaims(accessToken)
+                .getPayload();
+        return VerifiedToken.from(claims, claims.getId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.models.PlatformRole;
+import com.cepsandik.userservice.models.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtService jwtService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 900);
+        testUser = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .platformRole(PlatformRole.MODERATOR)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Access token tek parse ile tüm claim'leri vermeli")
+    void shouldExposeAllClaimsAfterSingleVerify() {
+        // Given
+        String token = (String) jwtService.generateAccessTokenWithClaims(testUser).get("token");
+
+        // When
+        VerifiedToken verified = jwtService.verify(token);
+
+        // Then
+        assertThat(verified.subject()).isEqualTo(testUser.getId());
+        assertThat(verified.email()).isEqualTo("test@example.com");
+        assertThat(verified.platformRole()).isEqualTo(PlatformRole.MODERATOR);
+        assertThat(verified.isAccessToken()).isTrue();
+        assertThat(verified.expiresAt()).isAfter(verified.issuedAt());
+    }
+
+    @Test
+    @DisplayName("Access token üretim anı milisaniye çözünürlüğünde okunmalı")
+    void shouldExposeIssuedAtWithMillisecondPrecision() {
+        // Given
+        Instant before = Instant.now();
+        String token = (String) jwtService.generateAccessTokenWithClaims(testUser).get("token");
+
+        // When
+        VerifiedToken verified = jwtService.verify(token);
+
+        // Then
+        assertThat(verified.issuedAt()).isBetween(before.truncatedTo(ChronoUnit.MILLIS), Instant.now());
+    }
+
+    @Test
+    @DisplayName("Farklı anahtarla imzalanmış token reddedilmeli")
+    void shouldRejectTokenSignedWithOtherKey() {
+        // Given
+        JwtService other = new JwtService("another-secret-key-that-is-long-enough-for-hs256", 900);
+        String token = (String) other.generateAccessTokenWithClaims(testUser).get("token");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Geçici token sadece 2FA doğrulamasında kabul edilmeli")
+    void shouldAcceptTempTokenOnlyFor2FA() {
+        // Given
+        String tempToken = jwtService.generateTempToken(testUser);
+        String accessToken = (String) jwtService.generateAccessTokenWithClaims(testUser).get("token");
+
+        // When & Then
+        assertThat(jwtService.validateTempTokenAndGetUserId(tempToken)).isEqualTo(testUser.getId());
+        assertThat(jwtService.validateTempTokenAndGetUserId(accessToken)).isNull();
+        assertThatThrownBy(() -> jwtService.verify(tempToken).toPrincipal()).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cepsandik.userservice.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LegacyHashAwarePasswordEncoder Unit Tests")
+class LegacyHashAwarePasswordEncoderTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    private LegacyHashAwarePasswordEncoder encoder(String encodingId, BCryptPasswordEncoder bcrypt) {
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new LegacyHashAwarePasswordEncoder(delegating, encodingId, bcrypt);
+    }
+
+    @Test
+    @DisplayName("Hedef maliyetteki prefix'siz BCrypt hash'i sadece prefix için yeniden hash'lenmemeli")
+    void shouldNotUpgradeUnprefixedBcryptWithSameCost() {
+        // Given
+        LegacyHashAwarePasswordEncoder encoder = encoder("bcrypt", new BCryptPasswordEncoder(5));
+        String legacy = new BCryptPasswordEncoder(5).encode(PASSWORD);
+
+        // When/Then
+        assertThat(encoder.matches(PASSWORD, legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Düşük maliyetli hash prefix'li ya da prefix'siz yeniden hash'lenmeli")
+    void shouldUpgradeWeakerBcrypt() {
+        // Given
+        LegacyHashAwarePasswordEncoder encoder = encoder("bcrypt", new BCryptPasswordEncoder(5));
+        String weaker = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        // When/Then
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Yeni hash'ler başka algoritmayla üretiliyorsa prefix'siz BCrypt hash'i yükseltilmeli")
+    void shouldUpgradeUnprefixedBcryptWhenAlgorithmChanged() {
+        // Given
+        LegacyHashAwarePasswordEncoder encoder = encoder("pbkdf2@SpringSecurity_v5_8", new BCryptPasswordEncoder(5));
+        String legacy = new BCryptPasswordEncoder(5).encode(PASSWORD);
+
+        // When/Then
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(encoder.encode(PASSWORD)).startsWith("{pbkdf2@SpringSecurity_v5_8}");
+    }
+}
@@ -0,0 +1,55 @@
+package com.cepsandik.userservice.security;
+
+import com.cepsandik.userservice.service.AuditService;
+import com.cepsandik.userservice.service.RateLimitingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimitingService rateLimitingService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private FilterChain chain;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = new RateLimitFilter(rateLimitingService, auditService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Actuator ve swagger istekleri rate limit'e takılmadan geçmeli")
+    void shouldSkipActuatorAndSwaggerPaths() throws Exception {
+        for (String path : new String[] { "/actuator/health", "/v3/api-docs", "/swagger-ui/index.html",
+                "/swagger-ui.html" }) {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            rateLimitFilter.doFilter(request, response, chain);
+
+            // Then
+            verify(chain).doFilter(request, response);
+        }
+        verifyNoInteractions(rateLimitingService);
+    }
+}
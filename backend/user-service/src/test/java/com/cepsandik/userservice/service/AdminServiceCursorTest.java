@@ -0,0 +1,97 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.dtos.responses.AuditLogCursorPage;
+import com.cepsandik.userservice.models.AuditLog;
+import com.cepsandik.userservice.exceptions.ApiException;
+import com.cepsandik.userservice.repositories.AuditLogRepository;
+import com.cepsandik.userservice.repositories.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AdminService Audit Cursor Tests")
+class AdminServiceCursorTest {
+
+    @Test
+    @DisplayName("Cursor son kaydın timestamp ve id değerine geri çözülmeli")
+    void shouldRoundTripCursor() {
+        // Given
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 4, 10, 15, 30, 123_000_000);
+        AuditLog last = AuditLog.builder().id(987L).action("LOGIN_SUCCESS").timestamp(timestamp).build();
+
+        // When
+        AdminService.Cursor cursor = AdminService.decodeCursor(AdminService.encodeCursor(last));
+
+        // Then
+        assertThat(cursor).isEqualTo(new AdminService.Cursor(timestamp, 987L));
+    }
+
+    @Test
+    @DisplayName("Cursor verilmezse ilk sayfadan başlanmalı")
+    void shouldStartFromBeginningWithoutCursor() {
+        // When
+        AdminService.Cursor cursor = AdminService.decodeCursor(null);
+
+        // Then
+        assertThat(cursor).isEqualTo(AdminService.Cursor.FIRST);
+    }
+
+    @Test
+    @DisplayName("Bozuk cursor BAD_REQUEST hatası vermeli")
+    void shouldRejectInvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> AdminService.decodeCursor("bozuk-cursor"))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Geçersiz cursor");
+    }
+
+    @Test
+    @DisplayName("Limitten bir fazla kayıt gelirse fazlası atılmalı ve son kayıttan cursor üretilmeli")
+    void shouldBuildNextCursorFromExtraRow() {
+        // Given
+        AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+        AdminService adminService = new AdminService(mock(UserRepository.class), auditLogRepository,
+                mock(TokenRevocationService.class));
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 4, 10, 0);
+        List<AuditLog> rows = List.of(
+                AuditLog.builder().id(3L).action("A").timestamp(timestamp).build(),
+                AuditLog.builder().id(2L).action("A").timestamp(timestamp).build(),
+                AuditLog.builder().id(1L).action("A").timestamp(timestamp).build());
+        when(auditLogRepository.findPageBefore(AdminService.Cursor.FIRST.timestamp(), Long.MAX_VALUE, 3))
+                .thenReturn(rows);
+
+        // When
+        AuditLogCursorPage page = adminService.getAllAuditLogs(null, 2);
+
+        // Then
+        assertThat(page.items()).hasSize(2);
+        assertThat(AdminService.decodeCursor(page.nextCursor())).isEqualTo(new AdminService.Cursor(timestamp, 2L));
+        verify(auditLogRepository).findPageBefore(AdminService.Cursor.FIRST.timestamp(), Long.MAX_VALUE, 3);
+    }
+
+    @Test
+    @DisplayName("Son sayfada cursor dönmemeli")
+    void shouldNotReturnCursorOnLastPage() {
+        // Given
+        AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+        AdminService adminService = new AdminService(mock(UserRepository.class), auditLogRepository,
+                mock(TokenRevocationService.class));
+        when(auditLogRepository.findPageBefore(AdminService.Cursor.FIRST.timestamp(), Long.MAX_VALUE, 3))
+                .thenReturn(List.of(AuditLog.builder().id(1L).action("A").timestamp(LocalDateTime.now()).build()));
+
+        // When
+        AuditLogCursorPage page = adminService.getAllAuditLogs(null, 2);
+
+        // Then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+}
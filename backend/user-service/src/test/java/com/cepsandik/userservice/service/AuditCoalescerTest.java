@@ -0,0 +1,75 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.config.AuditPolicyProperties;
+import com.cepsandik.userservice.models.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditCoalescer Unit Tests")
+class AuditCoalescerTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    private AuditPolicyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditPolicyProperties();
+    }
+
+    @Test
+    @DisplayName("Aynı olaylar pencere kapanınca tek satır olarak yazılmalı")
+    void shouldCoalesceIdenticalEventsIntoSingleRow() {
+        // Given
+        properties.setCoalesceWindowMs(0);
+        AuditCoalescer coalescer = new AuditCoalescer(auditLogWriter, properties, new SimpleMeterRegistry());
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            coalescer.add(null, "RATE_LIMIT_EXCEEDED", "IP engellendi: /api/v1/auth/login", "10.0.0.1");
+        }
+        coalescer.flushExpired();
+
+        // Then
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditLogWriter, times(1)).enqueue(captor.capture());
+        assertThat(captor.getValue().getOccurrenceCount()).isEqualTo(50);
+        assertThat(captor.getValue().getWindowEnd()).isNotNull();
+        assertThat(coalescer.openWindows()).isZero();
+    }
+
+    @Test
+    @DisplayName("Pencere sınırı dolunca yeni anahtarlar atılmalı")
+    void shouldDropNewKeysWhenWindowLimitReached() {
+        // Given
+        properties.setCoalesceMaxKeys(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditCoalescer coalescer = new AuditCoalescer(auditLogWriter, properties, meterRegistry);
+
+        // When
+        boolean first = coalescer.add(null, "RATE_LIMIT_EXCEEDED", "a", "10.0.0.1");
+        boolean second = coalescer.add(null, "RATE_LIMIT_EXCEEDED", "a", "10.0.0.2");
+        boolean third = coalescer.add(null, "RATE_LIMIT_EXCEEDED", "a", "10.0.0.3");
+        boolean existing = coalescer.add(null, "RATE_LIMIT_EXCEEDED", "a", "10.0.0.1");
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(existing).isTrue();
+        assertThat(meterRegistry.counter("audit.coalescer.overflow").count()).isEqualTo(1);
+        verify(auditLogWriter, never()).enqueue(any());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.dtos.responses.AuditLogResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditLogExportService Unit Tests")
+class AuditLogExportServiceTest {
+
+    @Test
+    @DisplayName("Virgül, tırnak veya satır sonu içeren alanlar RFC 4180'e göre tırnaklanmalı")
+    void shouldQuoteCsvFields() {
+        // When & Then
+        assertThat(AuditLogExportService.csvField("LOGIN_SUCCESS")).isEqualTo("LOGIN_SUCCESS");
+        assertThat(AuditLogExportService.csvField("a,b")).isEqualTo("\"a,b\"");
+        assertThat(AuditLogExportService.csvField("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(AuditLogExportService.csvField("line1\nline2")).isEqualTo("\"line1\nline2\"");
+        assertThat(AuditLogExportService.csvField(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("CSV satırı kolon sırasına uygun yazılmalı, boş alanlar boş bırakılmalı")
+    void shouldWriteCsvRow() throws Exception {
+        // Given
+        UUID userId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        AuditLogResponse row = new AuditLogResponse(42L, userId, "LOGIN_SUCCESS", "ip=1.2.3.4, ok",
+                null, LocalDateTime.of(2026, 1, 2, 3, 4, 5), 1, null);
+        StringWriter writer = new StringWriter();
+
+        // When
+        AuditLogExportService.writeCsv(writer, row);
+
+        // Then
+        assertThat(writer.toString()).isEqualTo(
+                "42,00000000-0000-0000-0000-000000000001,LOGIN_SUCCESS,\"ip=1.2.3.4, ok\",,2026-01-02T03:04:05,1,\n");
+    }
+
+    @Test
+    @DisplayName("Formül başlatan karakterle başlayan alanlar etkisizleştirilmeli (CSV injection)")
+    void shouldNeutralizeFormulaFields() {
+        // When & Then
+        assertThat(AuditLogExportService.csvField("=HYPERLINK(\"http://evil\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://evil\"\")\"");
+        assertThat(AuditLogExportService.csvField("+1+2")).isEqualTo("'+1+2");
+        assertThat(AuditLogExportService.csvField("-2+3")).isEqualTo("'-2+3");
+        assertThat(AuditLogExportService.csvField("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(AuditLogExportService.csvField("\tcmd")).isEqualTo("'\tcmd");
+        assertThat(AuditLogExportService.csvField("\r=1")).isEqualTo("\"'\r=1\"");
+        assertThat(AuditLogExportService.csvField("1.2.3.4")).isEqualTo("1.2.3.4");
+    }
+
+    @Test
+    @DisplayName("X-Forwarded-For'dan gelen formül IP alanında da etkisizleştirilmeli")
+    void shouldNeutralizeFormulaInIpAddress() throws Exception {
+        // Given
+        AuditLogResponse row = new AuditLogResponse(7L, null, "LOGIN_FAILED", "@cmd",
+                "=1+1", LocalDateTime.of(2026, 1, 2, 3, 4, 5), 1, null);
+        StringWriter writer = new StringWriter();
+
+        // When
+        AuditLogExportService.writeCsv(writer, row);
+
+        // Then
+        assertThat(writer.toString()).isEqualTo("7,,LOGIN_FAILED,'@cmd,'=1+1,2026-01-02T03:04:05,1,\n");
+    }
+}
@@ -0,0 +1,133 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.models.AuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogWriter Unit Tests")
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    private AuditLog auditLog(String action) {
+        return AuditLog.builder()
+                .action(action)
+                .details("detay")
+                .ipAddress("127.0.0.1")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.counter("audit.events", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("Flush boyutuna ulaşan kayıtlar tek bir çok satırlı INSERT ile yazılmalı")
+    void shouldWriteBatchWithSingleMultiRowInsert() {
+        // Given
+        writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 3, 60_000, 0);
+        writer.start();
+
+        // When
+        writer.enqueue(auditLog("LOGIN_SUCCESS"));
+        writer.enqueue(auditLog("LOGIN_SUCCESS"));
+        writer.enqueue(auditLog("LOGOUT_SUCCESS"));
+
+        // Then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, timeout(2000)).update(sql.capture(), args.capture());
+        assertThat(sql.getValue()).startsWith("INSERT INTO audit_logs");
+        assertThat(sql.getValue().split("\\(\\?, \\?, \\?, \\?, \\?, \\?, \\?\\)", -1)).hasSize(4);
+        assertThat(args.getValue()).hasSize(21);
+    }
+
+    @Test
+    @DisplayName("Kuyruk doluyken gelen kayıt atılmalı ve sayılmalı")
+    void shouldDropWhenQueueIsFull() {
+        // Given
+        writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 2, 10, 60_000, 0);
+
+        // When
+        boolean first = writer.enqueue(auditLog("A"));
+        boolean second = writer.enqueue(auditLog("B"));
+        boolean third = writer.enqueue(auditLog("C"));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(counter("enqueued")).isEqualTo(2);
+        assertThat(counter("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Kapanışta kuyrukta kalan kayıtlar yazılmalı")
+    void shouldFlushRemainingOnShutdown() {
+        // Given
+        writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 50, 60_000, 0);
+        writer.start();
+        writer.enqueue(auditLog("A"));
+        writer.enqueue(auditLog("B"));
+
+        // When
+        writer.shutdown();
+        writer = null;
+
+        // Then
+        verify(jdbcTemplate, atLeastOnce()).update(anyString(), any(Object[].class));
+        assertThat(counter("written")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Yazım hatası yazıcıyı durdurmamalı")
+    void shouldCountFailedWrites() {
+        // Given
+        writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 1, 60_000, 0);
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+        writer.start();
+
+        // When
+        writer.enqueue(auditLog("A"));
+        writer.enqueue(auditLog("B"));
+
+        // Then
+        verify(jdbcTemplate, timeout(2000).times(2)).update(anyString(), any(Object[].class));
+        assertThat(counter("failed")).isEqualTo(1);
+    }
+}
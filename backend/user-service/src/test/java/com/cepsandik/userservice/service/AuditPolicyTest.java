@@ -0,0 +1,51 @@
+package com.cepsandik.userservice.service;
+
+import com.cepsandik.userservice.config.AuditPolicyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditPolicy Unit Tests")
+class AuditPolicyTest {
+
+    private AuditPolicyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditPolicyProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Varsayılan politikada profil görüntüleme yazılmamalı, rate limit birleştirilmeli")
+    void shouldApplyDefaults() {
+        // Given
+        AuditPolicy policy = new AuditPolicy(properties, meterRegistry);
+
+        // When & Then
+        assertThat(policy.evaluate("PROFILE VIEWING_SUCCESS")).isEqualTo(AuditPolicy.Decision.SUPPRESS);
+        assertThat(policy.evaluate("RATE_LIMIT_EXCEEDED")).isEqualTo(AuditPolicy.Decision.COALESCE);
+        assertThat(policy.evaluate("LOGIN_SUCCESS")).isEqualTo(AuditPolicy.Decision.WRITE);
+        assertThat(meterRegistry.counter("audit.policy.decisions", "decision", "suppress").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Örnekleme oranı 0 olan action hiç yazılmamalı, 1 olan her zaman yazılmalı")
+    void shouldApplySampleRates() {
+        // Given
+        properties.setSampleRates(Map.of("token-refresh-success", 0.0, "LOGIN_SUCCESS", 1.0));
+        AuditPolicy policy = new AuditPolicy(properties, meterRegistry);
+
+        // When & Then
+        for (int i = 0; i < 20; i++) {
+            assertThat(policy.evaluate("TOKEN REFRESH_SUCCESS")).isEqualTo(AuditPolicy.Decision.SAMPLE_OUT);
+            assertThat(policy.evaluate("LOGIN_SUCCESS")).isEqualTo(AuditPolicy.Decision.WRITE);
+        }
+    }
+}
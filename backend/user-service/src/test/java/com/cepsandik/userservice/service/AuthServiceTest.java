@@ -3,11 +3,11 @@ package com.cepsandik.userservice.service;
 import com.cepsandik.userservice.common.MessageConstants;
 import com.cepsandik.userservice.dtos.requests.LoginRequest;
 import com.cepsandik.userservice.dtos.requests.RegisterRequest;
+import com.cepsandik.userservice.dtos.requests.TokenRefreshRequest;
 import com.cepsandik.userservice.dtos.responses.AuthResponse;
 import com.cepsandik.userservice.dtos.responses.UserResponse;
 import com.cepsandik.userservice.exceptions.ApiException;
 import com.cepsandik.userservice.models.PlatformRole;
-import com.cepsandik.userservice.models.RefreshToken;
 import com.cepsandik.userservice.models.User;
 import com.cepsandik.userservice.repositories.PasswordResetTokenRepository;
 import com.cepsandik.userservice.repositories.RefreshTokenRepository;
@@ -139,14 +139,11 @@ class AuthServiceTest {
         @DisplayName("Should login successfully without 2FA")
         void shouldLoginSuccessfully() {
             // Given
-            when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
             when(userRepository.findAnyByEmail(anyString())).thenReturn(Optional.of(testUser));
             when(encoder.matches(anyString(), anyString())).thenReturn(true);
-            when(twoFactorAuthService.isTwoFactorEnabled(any(UUID.class))).thenReturn(false);
             when(jwt.generateAccessTokenWithClaims(any(User.class)))
                     .thenReturn(Map.of("token", "accessToken", "expiration", 123456789L));
-            when(refreshRepository.save(any(RefreshToken.class)))
-                    .thenReturn(RefreshToken.builder().token("refreshToken").build());
+            when(refreshRepository.issue(testUser.getId())).thenReturn("refreshToken");
 
             // When
             AuthResponse response = authService.login(loginRequest);
@@ -154,18 +151,39 @@ class AuthServiceTest {
             // Then
             assertThat(response).isNotNull();
             assertThat(response.accessToken()).isEqualTo("accessToken");
+            assertThat(response.refreshToken()).isEqualTo("refreshToken");
             assertThat(response.requires2FA()).isFalse();
             verify(loginAttemptService).clearAttempts(anyString());
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should rehash password on login when encoding is outdated")
+        void shouldRehashOutdatedPasswordOnLogin() {
+            // Given
+            when(userRepository.findAnyByEmail(anyString())).thenReturn(Optional.of(testUser));
+            when(encoder.matches(anyString(), anyString())).thenReturn(true);
+            when(encoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+            when(encoder.encode(loginRequest.password())).thenReturn("{bcrypt}rehashedPassword");
+            when(jwt.generateAccessTokenWithClaims(any(User.class)))
+                    .thenReturn(Map.of("token", "accessToken", "expiration", 123456789L));
+            when(refreshRepository.issue(testUser.getId())).thenReturn("refreshToken");
+
+            // When
+            authService.login(loginRequest);
+
+            // Then
+            assertThat(testUser.getPasswordHash()).isEqualTo("{bcrypt}rehashedPassword");
+            verify(userRepository).save(testUser);
         }
 
         @Test
         @DisplayName("Should return requires2FA when 2FA is enabled")
         void shouldReturnRequires2FAWhenEnabled() {
             // Given
-            when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
             when(userRepository.findAnyByEmail(anyString())).thenReturn(Optional.of(testUser));
             when(encoder.matches(anyString(), anyString())).thenReturn(true);
-            when(twoFactorAuthService.isTwoFactorEnabled(any(UUID.class))).thenReturn(true);
+            testUser.setTwoFactorEnabled(true);
             when(jwt.generateTempToken(any(User.class))).thenReturn("tempToken");
 
             // When
@@ -182,7 +200,6 @@ class AuthServiceTest {
         @DisplayName("Should throw error for invalid credentials")
         void shouldThrowErrorForInvalidCredentials() {
             // Given
-            when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
             when(userRepository.findAnyByEmail(anyString())).thenReturn(Optional.of(testUser));
             when(encoder.matches(anyString(), anyString())).thenReturn(false);
 
@@ -198,7 +215,6 @@ class AuthServiceTest {
         @DisplayName("Should throw error when account is blocked")
         void shouldThrowErrorWhenAccountBlocked() {
             // Given
-            when(loginAttemptService.isBlocked(anyString())).thenReturn(true);
             when(loginAttemptService.getRemainingLockoutMinutes(anyString())).thenReturn(10L);
 
             // When/Then
@@ -212,7 +228,6 @@ class AuthServiceTest {
         void shouldThrowErrorForUnverifiedEmail() {
             // Given
             testUser.setVerified(false);
-            when(loginAttemptService.isBlocked(anyString())).thenReturn(false);
             when(userRepository.findAnyByEmail(anyString())).thenReturn(Optional.of(testUser));
             when(encoder.matches(anyString(), anyString())).thenReturn(true);
 
@@ -223,6 +238,41 @@ class AuthServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Token Refresh Tests")
+    class TokenRefreshTests {
+
+        @Test
+        @DisplayName("Should rotate refresh token on refresh")
+        void shouldRotateRefreshToken() {
+            // Given
+            when(refreshRepository.rotate("oldRefreshToken"))
+                    .thenReturn(Optional.of(new RefreshTokenRepository.Rotation(testUser.getId(), "newRefreshToken")));
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+            when(jwt.generateAccessTokenWithClaims(any(User.class)))
+                    .thenReturn(Map.of("token", "accessToken", "expiration", 123456789L));
+
+            // When
+            AuthResponse response = authService.refresh(new TokenRefreshRequest("oldRefreshToken"));
+
+            // Then
+            assertThat(response.refreshToken()).isEqualTo("newRefreshToken");
+            assertThat(response.accessToken()).isEqualTo("accessToken");
+        }
+
+        @Test
+        @DisplayName("Should reject unknown or already used refresh token")
+        void shouldRejectUsedRefreshToken() {
+            // Given
+            when(refreshRepository.rotate("usedRefreshToken")).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThatThrownBy(() -> authService.refresh(new TokenRefreshRequest("usedRefreshToken")))
+                    .isInstanceOf(ApiException.class)
+                    .hasFieldOrPropertyWithValue("status", HttpStatus.UNAUTHORIZED);
+        }
+    }
+
     @Nested
     @DisplayName("Email Verification Tests")
     class VerifyEmailTests {
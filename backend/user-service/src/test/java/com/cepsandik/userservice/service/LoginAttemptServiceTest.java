@@ -0,0 +1,90 @@
+package com.cepsandik.userservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginAttemptService Unit Tests")
+class LoginAttemptServiceTest {
+
+    private static final List<String> KEYS = List.of(
+            "login:attempts:{user@example.com}", "login:lockout:{user@example.com}");
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptService(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Engel kontrolü ve kalan süre tek script çağrısıyla okunmalı")
+    @SuppressWarnings("unchecked")
+    void shouldCheckLockoutInSingleCall() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS)))
+                .thenReturn(List.of(9 * 60_000L + 1, 5L));
+
+        // When
+        long remaining = loginAttemptService.getRemainingLockoutMinutes("User@Example.com");
+
+        // Then
+        assertThat(remaining).isEqualTo(10);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList());
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Engel yoksa kalan süre 0 olmalı ve hesap engelli sayılmamalı")
+    @SuppressWarnings("unchecked")
+    void shouldNotBeBlockedWithoutLockout() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS))).thenReturn(List.of(0L, 2L));
+
+        // When & Then
+        assertThat(loginAttemptService.isBlocked("user@example.com")).isFalse();
+        assertThat(loginAttemptService.getRemainingAttempts("user@example.com")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Başarısız deneme limit ve süreleri ham tamsayı olarak script'e göndermeli")
+    @SuppressWarnings("unchecked")
+    void shouldRecordFailureWithRawIntegerArgs() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("5"), eq("1800000"), eq("900000")))
+                .thenReturn(List.of(5L, 900_000L));
+
+        // When
+        loginAttemptService.recordFailedAttempt("user@example.com");
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq("5"), eq("1800000"), eq("900000"));
+    }
+
+    @Test
+    @DisplayName("Denemeler temizlenirken iki anahtar tek DEL ile silinmeli")
+    void shouldClearBothKeysAtOnce() {
+        // When
+        loginAttemptService.clearAttempts("user@example.com");
+
+        // Then
+        verify(redisTemplate).delete(KEYS);
+    }
+}
@@ -0,0 +1,73 @@
+package com.cepsandik.userservice.service;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitingService Unit Tests")
+class RateLimitingServiceTest {
+
+    @Mock
+    private LettuceBasedProxyManager<String> proxyManager;
+
+    @Mock
+    private RemoteBucketBuilder<String> bucketBuilder;
+
+    @Mock
+    private BucketProxy bucketProxy;
+
+    private RateLimitingService rateLimitingService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitingService = new RateLimitingService(proxyManager, 10, 500, 1000, 10);
+        when(proxyManager.builder()).thenReturn(bucketBuilder);
+    }
+
+    @Test
+    @DisplayName("Aynı anahtar için bucket proxy bir kez oluşturulup tekrar kullanılmalı")
+    @SuppressWarnings("unchecked")
+    void shouldCacheBucketPerKey() {
+        // Given
+        when(bucketBuilder.withOptimization(any(Optimization.class))).thenReturn(bucketBuilder);
+        when(bucketBuilder.build(eq("ratelimit:general:user-1"), any(Supplier.class))).thenReturn(bucketProxy);
+
+        // When
+        Bucket first = rateLimitingService.resolveBucket("user-1", RateLimitingService.RateLimitType.GENERAL);
+        Bucket second = rateLimitingService.resolveBucket("user-1", RateLimitingService.RateLimitType.GENERAL);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(proxyManager, times(1)).builder();
+    }
+
+    @Test
+    @DisplayName("Düşük limitli işlemler yerel katman olmadan doğrudan Redis bucket'ı kullanmalı")
+    @SuppressWarnings("unchecked")
+    void shouldNotUseLocalTierForStrictLimits() {
+        // Given
+        when(bucketBuilder.build(eq("ratelimit:password_reset:user-1"), any(Supplier.class))).thenReturn(bucketProxy);
+
+        // When
+        rateLimitingService.resolveBucket("user-1", RateLimitingService.RateLimitType.PASSWORD_RESET);
+
+        // Then
+        verify(bucketBuilder, never()).withOptimization(any());
+    }
+}
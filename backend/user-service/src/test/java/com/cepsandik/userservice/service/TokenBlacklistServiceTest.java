@@ -0,0 +1,140 @@
+package com.cepsandik.userservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBlacklistService Unit Tests")
+class TokenBlacklistServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenBlacklistService tokenBlacklistService;
+
+    @BeforeEach
+    void setUp() {
+        tokenBlacklistService = new TokenBlacklistService(redisTemplate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Blacklist'e eklenen token jti ile saklanmalı ve yayınlanmalı")
+    void shouldStoreByTokenIdAndPublish() {
+        // Given
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        // When
+        tokenBlacklistService.blacklistToken("jti-1", expiresAt);
+
+        // Then
+        assertThat(tokenBlacklistService.isBlacklisted("jti-1")).isTrue();
+        verify(zSetOperations).add("token:blacklist", "jti-1", expiresAt);
+        verify(zSetOperations).removeRangeByScore(eq("token:blacklist"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        verify(redisTemplate).convertAndSend(TokenBlacklistService.REVOCATION_CHANNEL, "jti-1:" + expiresAt);
+    }
+
+    @Test
+    @DisplayName("Blacklist kontrolü Redis'e gitmeden yapılmalı")
+    void shouldCheckWithoutRedisRoundTrip() {
+        // When
+        boolean blacklisted = tokenBlacklistService.isBlacklisted("jti-unknown");
+
+        // Then
+        assertThat(blacklisted).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Diğer replikadan gelen iptal mesajı yerel set'e eklenmeli")
+    void shouldApplyRevocationFromOtherReplica() {
+        // Given
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        byte[] body = ("jti-2:" + expiresAt).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        tokenBlacklistService.onMessage(new DefaultMessage(
+                TokenBlacklistService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(tokenBlacklistService.isBlacklisted("jti-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Süresi dolmuş token blacklist'e eklenmemeli")
+    void shouldIgnoreExpiredToken() {
+        // Given
+        long expiresAt = Instant.now().minusSeconds(5).getEpochSecond();
+
+        // When
+        tokenBlacklistService.blacklistToken("jti-3", expiresAt);
+
+        // Then
+        assertThat(tokenBlacklistService.isBlacklisted("jti-3")).isFalse();
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Senkronizasyon keyspace'i taramadan tek set okumasıyla yapılmalı")
+    void shouldResyncFromSingleSortedSet() {
+        // Given
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScoreWithScores(eq("token:blacklist"), anyDouble(), eq(Double.POSITIVE_INFINITY)))
+                .thenReturn(Set.of(new DefaultTypedTuple<>("jti-4", (double) expiresAt)));
+
+        // When
+        tokenBlacklistService.resync();
+
+        // Then
+        assertThat(tokenBlacklistService.isBlacklisted("jti-4")).isTrue();
+        verify(zSetOperations).removeRangeByScore(eq("token:blacklist"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        verify(redisTemplate, never()).scan(any());
+    }
+
+    @Test
+    @DisplayName("Çok sayıda iptal edilmiş token yerel set'ten düşmemeli")
+    void shouldNeverDropLiveEntries() {
+        // Given
+        // Eski 100.000'lik boyut sınırının üzerinde
+        int count = 150_000;
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        byte[] channel = TokenBlacklistService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        for (int i = 0; i < count; i++) {
+            byte[] body = ("jti-" + i + ":" + expiresAt).getBytes(StandardCharsets.UTF_8);
+            tokenBlacklistService.onMessage(new DefaultMessage(channel, body), null);
+        }
+
+        // Then
+        for (int i = 0; i < count; i++) {
+            assertThat(tokenBlacklistService.isBlacklisted("jti-" + i)).as("jti-%d", i).isTrue();
+        }
+        assertThat(meterRegistry.get("token.revocation.local.entries").tag("set", "token:blacklist").gauge().value())
+                .isEqualTo(count);
+    }
+}
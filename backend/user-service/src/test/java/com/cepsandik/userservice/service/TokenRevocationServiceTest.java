@@ -0,0 +1,157 @@
+package com.cepsandik.userservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    private static final String EPOCH_KEY = "token:revoked-before";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private TokenRevocationService tokenRevocationService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(redisTemplate, 900, new SimpleMeterRegistry());
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("İptalden önce üretilmiş token geçersiz, sonraki geçerli olmalı")
+    void shouldRevokeTokensIssuedBeforeEpoch() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Instant issuedBefore = Instant.now().minusSeconds(60);
+
+        // When
+        tokenRevocationService.revokeAllTokens(userId);
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(userId, issuedBefore)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(userId, Instant.now().plusSeconds(2))).isFalse();
+        assertThat(tokenRevocationService.isRevoked(UUID.randomUUID(), issuedBefore)).isFalse();
+        verify(zSetOperations).add(eq(EPOCH_KEY), eq(userId.toString()), anyDouble());
+        verify(zSetOperations).removeRangeByScore(eq(EPOCH_KEY), eq(Double.NEGATIVE_INFINITY), anyDouble());
+        verify(redisTemplate).convertAndSend(eq(TokenRevocationService.REVOCATION_CHANNEL), anyString());
+    }
+
+    @Test
+    @DisplayName("Çıkıştan hemen sonra aynı saniyede yapılan yeni giriş geçerli olmalı")
+    void shouldAcceptTokenIssuedInSameSecondAfterRevocation() throws InterruptedException {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        tokenRevocationService.revokeAllTokens(userId);
+        Thread.sleep(2);
+
+        // When
+        Instant reissued = Instant.now();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(userId, reissued)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Global iptal tüm kullanıcıların eski token'larını geçersiz kılmalı")
+    void shouldRevokeAllUsersWithSingleMember() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        // When
+        tokenRevocationService.revokeAllUsersTokens();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(UUID.randomUUID(), Instant.now().minusSeconds(60))).isTrue();
+        verify(zSetOperations, times(1)).add(eq(EPOCH_KEY), eq("all"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Diğer replikadan gelen iptal mesajı yerel cache'e eklenmeli")
+    void shouldApplyRevocationFromOtherReplica() {
+        // Given
+        long epoch = System.currentTimeMillis();
+        byte[] body = (userId + ":" + epoch).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        tokenRevocationService.onMessage(new DefaultMessage(
+                TokenRevocationService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(userId, Instant.now().minusSeconds(60))).isTrue();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Senkronizasyon keyspace'i taramadan sadece saklama süresindeki kayıtları okumalı")
+    void shouldResyncFromSingleSortedSet() {
+        // Given
+        long epoch = System.currentTimeMillis() - 1000;
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScoreWithScores(eq(EPOCH_KEY), anyDouble(), eq(Double.POSITIVE_INFINITY)))
+                .thenReturn(Set.of(new DefaultTypedTuple<>(userId.toString(), (double) epoch)));
+
+        // When
+        tokenRevocationService.resync();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(userId, Instant.ofEpochMilli(epoch))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(userId, Instant.ofEpochMilli(epoch + 1))).isFalse();
+        // Saklama süresi (access TTL + 60 sn) öncesindeki kayıtlar okunmaz
+        verify(zSetOperations).rangeByScoreWithScores(eq(EPOCH_KEY),
+                doubleThat(min -> min > epoch - 961_000 && min <= System.currentTimeMillis() - 959_000),
+                eq(Double.POSITIVE_INFINITY));
+        verify(redisTemplate, never()).scan(any());
+    }
+
+    @Test
+    @DisplayName("Çok sayıda kullanıcının iptal kaydı yerel cache'ten düşmemeli")
+    void shouldNeverDropLiveEpochs() {
+        // Given
+        // Eski 100.000'lik boyut sınırının üzerinde
+        int count = 150_000;
+        long epoch = System.currentTimeMillis();
+        byte[] channel = TokenRevocationService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        UUID[] users = new UUID[count];
+
+        // When
+        for (int i = 0; i < count; i++) {
+            users[i] = UUID.randomUUID();
+            byte[] body = (users[i] + ":" + epoch).getBytes(StandardCharsets.UTF_8);
+            tokenRevocationService.onMessage(new DefaultMessage(channel, body), null);
+        }
+
+        // Then
+        Instant issuedBefore = Instant.ofEpochMilli(epoch - 1000);
+        for (UUID user : users) {
+            assertThat(tokenRevocationService.isRevoked(user, issuedBefore)).isTrue();
+        }
+    }
+}
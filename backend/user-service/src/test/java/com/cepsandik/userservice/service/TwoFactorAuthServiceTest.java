@@ -4,26 +4,35 @@ import com.cepsandik.userservice.dtos.responses.TwoFactorSetupResponse;
 import com.cepsandik.userservice.exceptions.ApiException;
 import com.cepsandik.userservice.models.PlatformRole;
 import com.cepsandik.userservice.models.TwoFactorAuth;
+import com.cepsandik.userservice.models.TwoFactorBackupCode;
 import com.cepsandik.userservice.models.User;
 import com.cepsandik.userservice.repositories.TwoFactorAuthRepository;
+import com.cepsandik.userservice.repositories.TwoFactorBackupCodeRepository;
 import com.cepsandik.userservice.repositories.UserRepository;
+import dev.samstevens.totp.code.DefaultCodeGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,19 +42,29 @@ class TwoFactorAuthServiceTest {
     @Mock
     private TwoFactorAuthRepository twoFactorAuthRepository;
 
+    @Mock
+    private TwoFactorBackupCodeRepository backupCodeRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
     private TwoFactorAuthService twoFactorAuthService;
 
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        twoFactorAuthService = new TwoFactorAuthService(twoFactorAuthRepository, backupCodeRepository,
+                userRepository, passwordEncoder, redisTemplate, "test-backup-code-pepper", "test-jwt-secret");
         testUser = User.builder()
                 .id(UUID.randomUUID())
                 .firstName("Test")
@@ -68,7 +87,6 @@ class TwoFactorAuthServiceTest {
             // Given
             when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
             when(twoFactorAuthRepository.findByUserId(any(UUID.class))).thenReturn(Optional.empty());
-            when(passwordEncoder.encode(anyString())).thenReturn("hashedCode");
             when(twoFactorAuthRepository.save(any(TwoFactorAuth.class))).thenAnswer(i -> i.getArgument(0));
 
             // When
@@ -80,6 +98,8 @@ class TwoFactorAuthServiceTest {
             assertThat(response.qrCodeUri()).startsWith("data:image/png;base64,");
             assertThat(response.backupCodes()).hasSize(8);
             verify(twoFactorAuthRepository).save(any(TwoFactorAuth.class));
+            verify(backupCodeRepository).saveAll(anyList());
+            verifyNoInteractions(passwordEncoder);
         }
 
         @Test
@@ -105,34 +125,119 @@ class TwoFactorAuthServiceTest {
     class StatusTests {
 
         @Test
-        @DisplayName("Should return true when 2FA is enabled")
-        void shouldReturnTrueWhen2FAEnabled() {
+        @DisplayName("2FA durumu kullanıcı satırındaki bayraktan okunmalı")
+        void shouldReadStatusFromUserFlag() {
             // Given
-            TwoFactorAuth twoFactorAuth = TwoFactorAuth.builder()
+            testUser.setTwoFactorEnabled(true);
+            when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+            // When
+            boolean result = twoFactorAuthService.getTwoFactorStatus("test@example.com");
+
+            // Then
+            assertThat(result).isTrue();
+            verifyNoInteractions(twoFactorAuthRepository);
+        }
+
+        @Test
+        @DisplayName("2FA kurulmamış kullanıcı için durum false olmalı")
+        void shouldReturnFalseWhenUserFlagNotSet() {
+            // Given
+            when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+            // When
+            boolean result = twoFactorAuthService.getTwoFactorStatus("test@example.com");
+
+            // Then
+            assertThat(result).isFalse();
+            verifyNoInteractions(twoFactorAuthRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Backup Code Tests")
+    class BackupCodeTests {
+
+        private TwoFactorAuth enabled2FA;
+
+        @BeforeEach
+        void setUp() {
+            enabled2FA = TwoFactorAuth.builder()
                     .user(testUser)
+                    .secretKey("JBSWY3DPEHPK3PXP")
                     .enabled(true)
                     .build();
-            when(twoFactorAuthRepository.findByUserId(testUser.getId())).thenReturn(Optional.of(twoFactorAuth));
+            when(twoFactorAuthRepository.findByUserId(testUser.getId())).thenReturn(Optional.of(enabled2FA));
+        }
+
+        @Test
+        @DisplayName("Doğru yedek kod BCrypt olmadan doğrulanıp kullanıldı olarak işaretlenmeli")
+        void shouldVerifyBackupCodeWithoutBcrypt() {
+            // Given
+            TwoFactorBackupCode stored = TwoFactorBackupCode.builder()
+                    .id(7L)
+                    .userId(testUser.getId())
+                    .codeDigest(twoFactorAuthService.digestBackupCode("12345678"))
+                    .build();
+            when(backupCodeRepository.findByUserIdAndUsedAtIsNull(testUser.getId())).thenReturn(List.of(stored));
+            when(backupCodeRepository.markUsed(eq(7L), any(LocalDateTime.class))).thenReturn(1);
 
             // When
-            boolean result = twoFactorAuthService.isTwoFactorEnabled(testUser.getId());
+            boolean result = twoFactorAuthService.verifyTwoFactorCode(testUser.getId(), "12345678");
 
             // Then
             assertThat(result).isTrue();
+            verifyNoInteractions(passwordEncoder);
         }
 
         @Test
-        @DisplayName("Should return false when 2FA is not setup")
-        void shouldReturnFalseWhen2FANotSetup() {
+        @DisplayName("Eşzamanlı kullanımda işaretlenemeyen yedek kod reddedilmeli")
+        void shouldRejectBackupCodeAlreadyConsumed() {
             // Given
-            when(twoFactorAuthRepository.findByUserId(testUser.getId())).thenReturn(Optional.empty());
+            TwoFactorBackupCode stored = TwoFactorBackupCode.builder()
+                    .id(7L)
+                    .userId(testUser.getId())
+                    .codeDigest(twoFactorAuthService.digestBackupCode("12345678"))
+                    .build();
+            when(backupCodeRepository.findByUserIdAndUsedAtIsNull(testUser.getId())).thenReturn(List.of(stored));
+            when(backupCodeRepository.markUsed(eq(7L), any(LocalDateTime.class))).thenReturn(0);
 
             // When
-            boolean result = twoFactorAuthService.isTwoFactorEnabled(testUser.getId());
+            boolean result = twoFactorAuthService.verifyTwoFactorCode(testUser.getId(), "12345678");
 
             // Then
             assertThat(result).isFalse();
         }
+
+        @Test
+        @DisplayName("Geçerli TOTP kodu aynı pencerede ikinci kez kabul edilmemeli")
+        void shouldRejectReplayedTotpCode() throws Exception {
+            // Given
+            String code = new DefaultCodeGenerator().generate(enabled2FA.getSecretKey(),
+                    System.currentTimeMillis() / 1000 / 30);
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.setIfAbsent(eq("2fa:used:" + testUser.getId() + ":" + code), eq("1"),
+                    any(Duration.class))).thenReturn(true, false);
+
+            // When
+            boolean first = twoFactorAuthService.verifyTwoFactorCode(testUser.getId(), code);
+            boolean replay = twoFactorAuthService.verifyTwoFactorCode(testUser.getId(), code);
+
+            // Then
+            assertThat(first).isTrue();
+            assertThat(replay).isFalse();
+        }
+
+        @Test
+        @DisplayName("Hatalı TOTP kodu yedek kod olarak denenmemeli")
+        void shouldNotTryBackupCodesForTotpTypo() {
+            // When
+            boolean result = twoFactorAuthService.verifyTwoFactorCode(testUser.getId(), "000000");
+
+            // Then
+            assertThat(result).isFalse();
+            verifyNoInteractions(backupCodeRepository, passwordEncoder);
+        }
     }
 
     @Nested
@@ -151,6 +256,8 @@ class TwoFactorAuthServiceTest {
 
             // Then
             verify(twoFactorAuthRepository).deleteByUserId(testUser.getId());
+            verify(userRepository).save(testUser);
+            assertThat(testUser.isTwoFactorEnabled()).isFalse();
         }
 
         @Test
@@ -166,4 +273,40 @@ class TwoFactorAuthServiceTest {
                     .hasFieldOrPropertyWithValue("status", HttpStatus.UNAUTHORIZED);
         }
     }
+
+    @Nested
+    @DisplayName("Backup Code Pepper Tests")
+    class PepperTests {
+
+        private TwoFactorAuthService serviceWith(String pepper, String jwtSecret) {
+            return new TwoFactorAuthService(twoFactorAuthRepository, backupCodeRepository,
+                    userRepository, passwordEncoder, redisTemplate, pepper, jwtSecret);
+        }
+
+        @Test
+        @DisplayName("Boş pepper verilmemiş sayılmalı ve JWT secret kullanılmalı")
+        void shouldFallBackToJwtSecretWhenPepperBlank() {
+            // Given
+            TwoFactorAuthService withJwtSecretAsPepper = serviceWith("test-jwt-secret", "other");
+
+            // When
+            TwoFactorAuthService blankPepper = serviceWith("", "test-jwt-secret");
+            TwoFactorAuthService whitespacePepper = serviceWith("  ", "test-jwt-secret");
+
+            // Then
+            String expected = withJwtSecretAsPepper.digestBackupCode("12345678");
+            assertThat(blankPepper.digestBackupCode("12345678")).isEqualTo(expected);
+            assertThat(whitespacePepper.digestBackupCode("12345678")).isEqualTo(expected);
+            assertThat(twoFactorAuthService.digestBackupCode("12345678")).isNotEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("Pepper ve JWT secret boşsa açıklayıcı hata ile açılış durdurulmalı")
+        void shouldFailFastWhenNoSecretAvailable() {
+            // When/Then
+            assertThatThrownBy(() -> serviceWith("", ""))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("app.two-factor.backup-code-pepper");
+        }
+    }
 }
@@ -47,6 +47,9 @@ class UserServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private UserService userService;
 
@@ -171,6 +174,20 @@ class UserServiceTest {
             assertThat(testUser.isActive()).isFalse();
             assertThat(testUser.getDeletedAt()).isNotNull();
         }
+
+        @Test
+        @DisplayName("Should not delete account when token revocation fails")
+        void shouldRevokeTokensBeforeDeletingAccount() {
+            // Given
+            when(userRepo.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+            doThrow(new IllegalStateException("redis down"))
+                    .when(tokenRevocationService).revokeAllTokens(testUser.getId());
+
+            // When/Then
+            assertThatThrownBy(() -> userService.deleteMe("john@example.com"))
+                    .isInstanceOf(IllegalStateException.class);
+            verify(userRepo, never()).delete(any(User.class));
+        }
     }
 
     @Nested
@@ -225,6 +242,7 @@ class UserServiceTest {
 
             // Then
             verify(refreshTokenRepository).deleteByUserId(testUser.getId());
+            verify(tokenRevocationService).revokeAllTokens(testUser.getId());
         }
     }
 }